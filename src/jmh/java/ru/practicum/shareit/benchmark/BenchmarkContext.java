@@ -0,0 +1,43 @@
+package ru.practicum.shareit.benchmark;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItApp;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Boots the application without a web server on the H2 test profile, quiet and without
+ * Hibernate statistics, for benchmarks that drive services and repositories directly.
+ * Overrides are {@code --key=value} arguments and replace the defaults with the same key.
+ */
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(String... overrides) {
+        SpringApplication application = new SpringApplication(ShareItApp.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        application.setAdditionalProfiles("test");
+        Map<String, String> args = new LinkedHashMap<>();
+        for (String arg : defaults()) {
+            args.put(arg.substring(0, arg.indexOf('=')), arg);
+        }
+        for (String arg : overrides) {
+            args.put(arg.substring(0, arg.indexOf('=')), arg);
+        }
+        return application.run(args.values().toArray(String[]::new));
+    }
+
+    private static String[] defaults() {
+        return new String[]{
+                "--spring.datasource.url=jdbc:h2:mem:bench-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1",
+                "--spring.jpa.properties.hibernate.generate_statistics=false",
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.transaction.interceptor=WARN",
+                "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN"};
+    }
+}
@@ -0,0 +1,79 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Approvals of disjoint bookings of one hot item from 16 threads, all serialised by the item's
+ * admission lock. Each invocation approves a booking created for the next free hour beforehand.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(16)
+public class BookingAdmissionBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private Long itemId;
+    private Long ownerId;
+    private Long bookerId;
+    private LocalDateTime base;
+    private final AtomicLong slot = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        bookingService = context.getBean(BookingService.class);
+        CatalogSeeder seeder = new CatalogSeeder(context, new DataGenerator(42));
+        Item item = seeder.owner(1, 0, 0).get(0);
+        itemId = item.getId();
+        ownerId = item.getOwner().getId();
+        bookerId = seeder.user().getId();
+        // Whole hours: the database rounds to microseconds, which could make adjacent slots overlap.
+        base = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Waiting {
+        Long bookingId;
+
+        @Setup(Level.Invocation)
+        public void create(BookingAdmissionBenchmark benchmark) {
+            LocalDateTime start = benchmark.base.plusHours(benchmark.slot.getAndIncrement());
+            BookingRequestDto request = new BookingRequestDto();
+            request.setItemId(benchmark.itemId);
+            request.setStart(start);
+            request.setEnd(start.plusHours(1));
+            bookingId = benchmark.bookingService.create(request, benchmark.bookerId).getId();
+        }
+    }
+
+    @Benchmark
+    public BookingResponseDto approve(Waiting waiting) {
+        return bookingService.approveBooking(waiting.bookingId, ownerId, true);
+    }
+}
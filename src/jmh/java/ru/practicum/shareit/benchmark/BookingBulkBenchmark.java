@@ -0,0 +1,110 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.booking.dto.BookingBulkResultDto;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk booking creation and approval against the same number of single-booking calls.
+ * Every batch books each of a fleet's items for consecutive two-hour slots further in the
+ * future than the previous batch, so nothing is rejected as an overlap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BookingBulkBenchmark {
+    private static final int FLEET_SIZE = 100;
+
+    @Param({"10", "100", "1000"})
+    int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private final List<Long> itemIds = new ArrayList<>();
+    private Long ownerId;
+    private Long bookerId;
+    private LocalDateTime nextStart;
+    private List<Long> waiting;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        bookingService = context.getBean(BookingService.class);
+        CatalogSeeder seeder = new CatalogSeeder(context, new DataGenerator(42));
+        List<Item> fleet = seeder.owner(FLEET_SIZE, 0, 0);
+        fleet.stream().map(Item::getId).forEach(itemIds::add);
+        ownerId = fleet.get(0).getOwner().getId();
+        bookerId = seeder.user().getId();
+        nextStart = LocalDateTime.now().plusDays(1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Setup(Level.Invocation)
+    public void createWaiting() {
+        waiting = bookingService.createAll(nextBatch(), bookerId).stream()
+                .map(result -> result.getBooking().getId())
+                .toList();
+    }
+
+    @Benchmark
+    public List<BookingBulkResultDto> createBulk() {
+        return bookingService.createAll(nextBatch(), bookerId);
+    }
+
+    @Benchmark
+    public int createOneByOne() {
+        List<BookingRequestDto> batch = nextBatch();
+        for (BookingRequestDto request : batch) {
+            bookingService.create(request, bookerId);
+        }
+        return batch.size();
+    }
+
+    @Benchmark
+    public List<BookingBulkResultDto> approveBulk() {
+        return bookingService.approveAll(waiting, ownerId, true);
+    }
+
+    @Benchmark
+    public int approveOneByOne() {
+        for (Long bookingId : waiting) {
+            bookingService.approveBooking(bookingId, ownerId, true);
+        }
+        return waiting.size();
+    }
+
+    private List<BookingRequestDto> nextBatch() {
+        List<BookingRequestDto> batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            LocalDateTime start = nextStart.plusHours(2L * (i / FLEET_SIZE));
+            BookingRequestDto request = new BookingRequestDto();
+            request.setItemId(itemIds.get(i % FLEET_SIZE));
+            request.setStart(start);
+            request.setEnd(start.plusHours(1));
+            batch.add(request);
+        }
+        nextStart = nextStart.plusHours(2L * ((batchSize + FLEET_SIZE - 1) / FLEET_SIZE));
+        return batch;
+    }
+}
@@ -0,0 +1,106 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.dto.BookingExportDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.util.CsvWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full CSV export of one booker's history in a JVM capped at {@value #HEAP_BUDGET}: finishing at
+ * all shows the export does not hold the history in memory. The database is an H2 file, so
+ * sorted results spill to disk instead of the heap as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx" + BookingExportBenchmark.HEAP_BUDGET)
+public class BookingExportBenchmark {
+    static final String HEAP_BUDGET = "256m";
+    private static final int INSERT_CHUNK = 500_000;
+
+    @Param({"5000000"})
+    int rows;
+
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private Path database;
+    private Long bookerId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        database = Files.createTempDirectory("booking-export");
+        context = BenchmarkContext.start("--spring.datasource.url=jdbc:h2:file:" + database.resolve("db")
+                + ";CACHE_SIZE=16384");
+        bookingService = context.getBean(BookingService.class);
+        CatalogSeeder seeder = new CatalogSeeder(context, new DataGenerator(42));
+        Item item = seeder.owner(1, 0, 0).get(0);
+        User booker = seeder.user();
+        bookerId = booker.getId();
+
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        Timestamp start = Timestamp.valueOf(LocalDateTime.now().minusYears(10));
+        for (int from = 1; from <= rows; from += INSERT_CHUNK) {
+            jdbc.update("""
+                    INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, status)
+                    SELECT X, DATEADD('MINUTE', X, CAST(? AS TIMESTAMP)),
+                           DATEADD('MINUTE', X + 30, CAST(? AS TIMESTAMP)), ?, ?, 'APPROVED'
+                    FROM SYSTEM_RANGE(?, ?)
+                    """, start, start, item.getId(), bookerId, from, Math.min(from + INSERT_CHUNK - 1, rows));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        try (var files = Files.walk(database)) {
+            files.sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public long exportCsv() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        try (CsvWriter<BookingExportDto> writer = new CsvWriter<>(out, List.of("id", "start", "end"),
+                booking -> new Object[]{booking.getId(), booking.getStart(), booking.getEnd()})) {
+            bookingService.exportAllByUser(bookerId, writer);
+        }
+        return out.count;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link BookingService#create} against H2. Requests cycle over the catalogue and move two
+ * hours further into the future on every pass, so none of them is rejected as an overlap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BookingServiceBenchmark {
+    private static final int OWNERS = 100;
+    private static final int ITEMS_PER_OWNER = 10;
+
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private final List<Long> itemIds = new ArrayList<>();
+    private Long bookerId;
+    private LocalDateTime base;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        bookingService = context.getBean(BookingService.class);
+        CatalogSeeder seeder = new CatalogSeeder(context, new DataGenerator(42));
+        for (int i = 0; i < OWNERS; i++) {
+            seeder.owner(ITEMS_PER_OWNER, 2, 0).stream().map(Item::getId).forEach(itemIds::add);
+        }
+        bookerId = seeder.user().getId();
+        base = LocalDateTime.now().plusDays(1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BookingResponseDto create() {
+        long n = sequence++;
+        LocalDateTime start = base.plusHours(2 * (n / itemIds.size()));
+        BookingRequestDto request = new BookingRequestDto();
+        request.setItemId(itemIds.get((int) (n % itemIds.size())));
+        request.setStart(start);
+        request.setEnd(start.plusHours(1));
+        return bookingService.create(request, bookerId);
+    }
+}
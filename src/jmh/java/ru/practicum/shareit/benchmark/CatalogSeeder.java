@@ -0,0 +1,104 @@
+package ru.practicum.shareit.benchmark;
+
+import org.springframework.context.ApplicationContext;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.dashboard.ItemDashboardUpdater;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes generated owners, items, bookings and comments straight through the repositories.
+ * Bookings of an item are approved, one day long and spread around now, half of them in
+ * the past, so last/next booking lookups have real work to do. Item dashboards are backfilled
+ * after every owner.
+ */
+class CatalogSeeder {
+    private static final int BOOKERS = 50;
+
+    private final UserRepository users;
+    private final ItemRepository items;
+    private final BookingRepository bookings;
+    private final CommentRepository comments;
+    private final ItemDashboardUpdater dashboards;
+    private final DataGenerator generator;
+    private final List<User> bookers = new ArrayList<>();
+    private long userSeq;
+
+    CatalogSeeder(ApplicationContext context, DataGenerator generator) {
+        this.users = context.getBean(UserRepository.class);
+        this.items = context.getBean(ItemRepository.class);
+        this.bookings = context.getBean(BookingRepository.class);
+        this.comments = context.getBean(CommentRepository.class);
+        this.dashboards = context.getBean(ItemDashboardUpdater.class);
+        this.generator = generator;
+    }
+
+    User user() {
+        long n = ++userSeq;
+        User user = new User();
+        user.setName("user" + n);
+        user.setEmail("user" + n + "@example.com");
+        return users.save(user);
+    }
+
+    User booker(int index) {
+        while (bookers.size() < BOOKERS) {
+            bookers.add(user());
+        }
+        return bookers.get(Math.floorMod(index, BOOKERS));
+    }
+
+    /**
+     * An owner with {@code itemCount} available items, each with the given number of bookings and comments.
+     */
+    List<Item> owner(int itemCount, int bookingsPerItem, int commentsPerItem) {
+        User owner = user();
+        List<Item> saved = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            Item item = ItemMapper.toItem(generator.item(0), null);
+            item.setAvailable(true);
+            item.setOwner(owner);
+            saved.add(item);
+        }
+        items.saveAll(saved);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Booking> itemBookings = new ArrayList<>();
+        List<Comment> itemComments = new ArrayList<>();
+        for (Item item : saved) {
+            for (int b = 0; b < bookingsPerItem; b++) {
+                LocalDateTime start = now.plusDays(2L * (b - bookingsPerItem / 2));
+                Booking booking = new Booking();
+                booking.setItem(item);
+                booking.setBooker(booker(b));
+                booking.setStart(start);
+                booking.setEnd(start.plusDays(1));
+                booking.setStatus(Status.APPROVED);
+                itemBookings.add(booking);
+            }
+            for (int c = 0; c < commentsPerItem; c++) {
+                Comment comment = new Comment();
+                comment.setItem(item);
+                comment.setAuthor(booker(c));
+                comment.setText(generator.words(3, 20));
+                comment.setCreated(now.minusHours(c));
+                itemComments.add(comment);
+            }
+        }
+        bookings.saveAll(itemBookings);
+        comments.saveAll(itemComments);
+        dashboards.backfill();
+        return saved;
+    }
+}
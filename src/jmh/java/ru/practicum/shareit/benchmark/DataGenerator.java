@@ -0,0 +1,43 @@
+package ru.practicum.shareit.benchmark;
+
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.Random;
+
+public class DataGenerator {
+    private static final String[] WORDS = {
+        "drill", "cordless", "hammer", "ladder", "saw", "circular", "battery", "charger", "tent", "camping",
+        "bicycle", "helmet", "kayak", "paddle", "projector", "screen", "speaker", "bluetooth", "mixer", "kitchen",
+        "vacuum", "cleaner", "steamer", "iron", "grill", "charcoal", "lawn", "mower", "trimmer", "hedge",
+        "snowboard", "skis", "boots", "poles", "camera", "tripod", "lens", "drone", "scooter", "electric",
+        "compact", "heavy", "duty", "portable", "wireless", "professional", "garden", "wooden", "steel", "plastic"
+    };
+
+    private final Random random;
+
+    public DataGenerator(long seed) {
+        this.random = new Random(seed);
+    }
+
+    public String words(int min, int max) {
+        int count = min + random.nextInt(max - min + 1);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            String word = WORDS[random.nextInt(WORDS.length)];
+            text.append(i == 0 ? Character.toUpperCase(word.charAt(0)) + word.substring(1) : word);
+        }
+        return text.toString();
+    }
+
+    public ItemDto item(long id) {
+        ItemDto item = new ItemDto();
+        item.setId(id);
+        item.setName(words(1, 3));
+        item.setDescription(words(4, 12));
+        item.setAvailable(random.nextInt(10) != 0);
+        return item;
+    }
+}
@@ -0,0 +1,158 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.search.InMemoryItemSearchEngine;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the in-memory trigram engine with the LIKE query the database engine issues,
+ * executed against an H2 table holding the same generated catalogue. With bookings, also measures
+ * the first page of the search restricted to a time window: approved bookings are a day long,
+ * every other day, mostly in the past, and every other item is booked within the window.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ItemSearchBenchmark {
+    private static final String SEARCH_SQL = "SELECT id, name, description, is_available FROM items "
+            + "WHERE is_available = TRUE AND (LOWER(name) LIKE LOWER(CONCAT('%', ?, '%')) "
+            + "OR LOWER(description) LIKE LOWER(CONCAT('%', ?, '%'))) ORDER BY id";
+    private static final String FREE_SEARCH_SQL = "SELECT i.id FROM items i "
+            + "WHERE i.is_available = TRUE AND (LOWER(i.name) LIKE LOWER(CONCAT('%', ?, '%')) "
+            + "OR LOWER(i.description) LIKE LOWER(CONCAT('%', ?, '%'))) AND NOT EXISTS (SELECT 1 FROM bookings b "
+            + "WHERE b.item_id = i.id AND b.status = 'APPROVED' AND b.end_date > ? AND b.start_date < ?) "
+            + "ORDER BY i.id LIMIT 20";
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Param({"10000", "100000", "1000000"})
+    int itemCount;
+
+    @Param({"kayak", "cordless drill", "dr"})
+    String text;
+
+    @Param({"0", "10"})
+    int bookingsPerItem;
+
+    private InMemoryItemSearchEngine memoryEngine;
+    private Connection connection;
+    private PreparedStatement search;
+    private PreparedStatement freeSearch;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        memoryEngine = new InMemoryItemSearchEngine(null, null, null);
+        connection = DriverManager.getConnection("jdbc:h2:mem:search" + itemCount, "sa", "");
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("CREATE TABLE items (id BIGINT PRIMARY KEY, name VARCHAR(255) NOT NULL, "
+                    + "description TEXT, is_available BOOLEAN NOT NULL)");
+            ddl.execute("CREATE TABLE bookings (id BIGINT PRIMARY KEY, item_id BIGINT NOT NULL, "
+                    + "start_date TIMESTAMP NOT NULL, end_date TIMESTAMP NOT NULL, status VARCHAR(16) NOT NULL)");
+        }
+        DataGenerator generator = new DataGenerator(42);
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO items VALUES (?, ?, ?, ?)")) {
+            for (long id = 1; id <= itemCount; id++) {
+                ItemDto item = generator.item(id);
+                memoryEngine.index(item);
+                insert.setLong(1, id);
+                insert.setString(2, item.getName());
+                insert.setString(3, item.getDescription());
+                insert.setBoolean(4, item.getAvailable());
+                insert.addBatch();
+                if (id % 1000 == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        insertBookings();
+        search = connection.prepareStatement(SEARCH_SQL);
+        freeSearch = connection.prepareStatement(FREE_SEARCH_SQL);
+    }
+
+    private void insertBookings() throws SQLException {
+        long bookingId = 0;
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO bookings VALUES (?, ?, ?, ?, ?)")) {
+            for (long id = 1; id <= itemCount; id++) {
+                for (int b = 0; b < bookingsPerItem; b++) {
+                    LocalDateTime start = NOW.plusDays(2L * (b - bookingsPerItem * 4 / 5) + id % 2);
+                    insert.setLong(1, ++bookingId);
+                    insert.setLong(2, id);
+                    insert.setTimestamp(3, Timestamp.valueOf(start));
+                    insert.setTimestamp(4, Timestamp.valueOf(start.plusDays(1)));
+                    insert.setString(5, "APPROVED");
+                    insert.addBatch();
+                    if (bookingId % 1000 == 0) {
+                        insert.executeBatch();
+                    }
+                }
+            }
+            insert.executeBatch();
+        }
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("CREATE INDEX ix_bookings_item_approved_end ON bookings (item_id, end_date, start_date)");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement drop = connection.createStatement()) {
+            drop.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public List<ItemDto> memory() {
+        return memoryEngine.search(text, null, 0, Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public List<Long> databaseLikeScan() throws SQLException {
+        search.setString(1, text);
+        search.setString(2, text);
+        List<Long> ids = new ArrayList<>();
+        try (ResultSet rows = search.executeQuery()) {
+            while (rows.next()) {
+                ids.add(rows.getLong(1));
+            }
+        }
+        return ids;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    public List<Long> databaseFreeWindowFirstPage() throws SQLException {
+        freeSearch.setString(1, text);
+        freeSearch.setString(2, text);
+        freeSearch.setTimestamp(3, Timestamp.valueOf(NOW.plusDays(1).plusHours(1)));
+        freeSearch.setTimestamp(4, Timestamp.valueOf(NOW.plusDays(1).plusHours(23)));
+        List<Long> ids = new ArrayList<>();
+        try (ResultSet rows = freeSearch.executeQuery()) {
+            while (rows.next()) {
+                ids.add(rows.getLong(1));
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,117 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.booking.timeline.TimeRange;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemWithBookingsDto;
+import ru.practicum.shareit.item.service.ItemService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ItemService} read paths against H2: the owner's item list with varying numbers of
+ * items, bookings and comments, and the search page over a generated catalogue, also restricted
+ * to a time window that every item is free in, or booked in (no match, so every candidate is
+ * probed).
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ItemServiceBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class OwnerCatalog {
+        @Param({"10", "100"})
+        int itemCount;
+
+        @Param({"0", "10"})
+        int bookingsPerItem;
+
+        @Param({"0", "10"})
+        int commentsPerItem;
+
+        ConfigurableApplicationContext context;
+        ItemService itemService;
+        Long ownerId;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            context = BenchmarkContext.start();
+            itemService = context.getBean(ItemService.class);
+            CatalogSeeder seeder = new CatalogSeeder(context, new DataGenerator(42));
+            ownerId = seeder.owner(itemCount, bookingsPerItem, commentsPerItem).get(0).getOwner().getId();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            context.close();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class SearchCatalog {
+        private static final int OWNERS = 100;
+        private static final int ITEMS_PER_OWNER = 100;
+
+        @Param({"drill", "cordless drill"})
+        String text;
+
+        @Param({"0", "10"})
+        int bookingsPerItem;
+
+        ConfigurableApplicationContext context;
+        ItemService itemService;
+        TimeRange freeWindow;
+        TimeRange bookedWindow;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            context = BenchmarkContext.start();
+            itemService = context.getBean(ItemService.class);
+            CatalogSeeder seeder = new CatalogSeeder(context, new DataGenerator(42));
+            for (int i = 0; i < OWNERS; i++) {
+                seeder.owner(ITEMS_PER_OWNER, bookingsPerItem, 0);
+            }
+            // Seeded bookings are a day long and start every other day from now.
+            LocalDateTime now = LocalDateTime.now();
+            freeWindow = new TimeRange(now.plusDays(1).plusHours(1), now.plusDays(1).plusHours(23));
+            bookedWindow = new TimeRange(now.plusDays(2).plusHours(1), now.plusDays(2).plusHours(2));
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public List<ItemWithBookingsDto> findAllByOwner(OwnerCatalog catalog) {
+        return catalog.itemService.findAllByOwner(catalog.ownerId);
+    }
+
+    @Benchmark
+    public List<ItemDto> searchFirstPage(SearchCatalog catalog) {
+        return catalog.itemService.search(catalog.text, null, null, 0, 20);
+    }
+
+    @Benchmark
+    public List<ItemDto> searchFreeWindowFirstPage(SearchCatalog catalog) {
+        return catalog.itemService.search(catalog.text, catalog.freeWindow, null, 0, 20);
+    }
+
+    @Benchmark
+    public List<ItemDto> searchBookedWindowFirstPage(SearchCatalog catalog) {
+        return catalog.itemService.search(catalog.text, catalog.bookedWindow, null, 0, 20);
+    }
+}
@@ -0,0 +1,221 @@
+package ru.practicum.shareit.benchmark;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItApp;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Closed-loop HTTP load test comparing the default platform-thread Tomcat pool with the
+ * {@code virtual} profile. Each mode boots the application on H2 with the same connection
+ * pool, seeds users, items and bookings over HTTP and then keeps {@code concurrency} clients
+ * busy with {@code GET /bookings} and {@code GET /items} calls, reporting p50/p99 latency and
+ * throughput per endpoint.
+ *
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec -Djmh.main=ru.practicum.shareit.benchmark.LoadTest \
+ *     -Djmh.args="--mode=both --concurrency=400 --duration=20"
+ * </pre>
+ */
+public class LoadTest {
+    private static final String SHARER_ID_HEADER = "X-Sharer-User-Id";
+    private static final int USERS = 200;
+    private static final int ITEMS_PER_USER = 5;
+    private static final int BOOKINGS_PER_USER = 10;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private String baseUrl;
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        String mode = options.getOrDefault("mode", "both");
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "400"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "5"));
+        int duration = Integer.parseInt(options.getOrDefault("duration", "20"));
+        String poolSize = options.getOrDefault("pool", "20");
+
+        List<String> modes = "both".equals(mode) ? List.of("platform", "virtual") : List.of(mode);
+        for (String m : modes) {
+            new LoadTest().run(m, concurrency, warmup, duration, poolSize);
+        }
+        System.exit(0);
+    }
+
+    private void run(String mode, int concurrency, int warmup, int duration, String poolSize) throws Exception {
+        SpringApplication application = new SpringApplication(ShareItApp.class);
+        application.setAdditionalProfiles("virtual".equals(mode) ? new String[]{"test", "virtual"} : new String[]{"test"});
+        ConfigurableApplicationContext context = application.run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:load-" + mode + ";DB_CLOSE_DELAY=-1",
+                "--spring.datasource.hikari.maximum-pool-size=" + poolSize,
+                "--spring.datasource.hikari.connection-timeout=2000",
+                "--spring.jpa.open-in-view=false",
+                "--spring.jpa.properties.hibernate.generate_statistics=false",
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.transaction.interceptor=WARN",
+                "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN");
+        try {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            baseUrl = "http://localhost:" + port;
+            seed();
+            drive(concurrency, warmup, false);
+            Map<String, Recorder> results = drive(concurrency, duration, true);
+            System.out.printf("%n== %s threads, concurrency %d, %d s ==%n", mode, concurrency, duration);
+            System.out.printf("%-10s %10s %10s %10s %10s %8s%n", "endpoint", "requests", "req/s", "p50 ms", "p99 ms", "errors");
+            results.forEach((endpoint, recorder) -> recorder.print(endpoint, duration));
+        } finally {
+            context.close();
+        }
+    }
+
+    private void seed() throws IOException, InterruptedException {
+        for (int u = 1; u <= USERS; u++) {
+            post("/users", null, "{\"name\":\"user" + u + "\",\"email\":\"user" + u + "@example.com\"}");
+        }
+        for (int u = 1; u <= USERS; u++) {
+            for (int i = 0; i < ITEMS_PER_USER; i++) {
+                post("/items", (long) u, "{\"name\":\"item " + u + "-" + i
+                        + "\",\"description\":\"load test item\",\"available\":true}");
+            }
+        }
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        for (int u = 1; u <= USERS; u++) {
+            long owner = u % USERS + 1;
+            for (int b = 0; b < BOOKINGS_PER_USER; b++) {
+                long itemId = (owner - 1) * ITEMS_PER_USER + 1 + ThreadLocalRandom.current().nextInt(ITEMS_PER_USER);
+                LocalDateTime from = start.plusHours((long) u * BOOKINGS_PER_USER + b);
+                post("/bookings", (long) u, "{\"itemId\":" + itemId + ",\"start\":\"" + from
+                        + "\",\"end\":\"" + from.plusMinutes(30) + "\"}");
+            }
+        }
+    }
+
+    private Map<String, Recorder> drive(int concurrency, int seconds, boolean record) throws Exception {
+        Recorder bookings = new Recorder();
+        Recorder items = new Recorder();
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int c = 0; c < concurrency; c++) {
+                futures.add(clients.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        long userId = 1 + random.nextInt(USERS);
+                        boolean booking = random.nextBoolean();
+                        long begin = System.nanoTime();
+                        int status = get(booking ? "/bookings" : "/items", userId);
+                        long elapsed = System.nanoTime() - begin;
+                        if (record) {
+                            (booking ? bookings : items).record(elapsed, status);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        Map<String, Recorder> results = new HashMap<>();
+        results.put("/bookings", bookings);
+        results.put("/items", items);
+        return results;
+    }
+
+    private int get(String path, long userId) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header(SHARER_ID_HEADER, String.valueOf(userId))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            return -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+
+    private void post(String path, Long userId, String body) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (userId != null) {
+            request.header(SHARER_ID_HEADER, String.valueOf(userId));
+        }
+        HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException("Seeding " + path + " failed: " + response.body());
+        }
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(pair[0], pair.length > 1 ? pair[1] : "true");
+        }
+        return options;
+    }
+
+    private static final class Recorder {
+        private final ReentrantLock lock = new ReentrantLock();
+        private long[] latencies = new long[1 << 16];
+        private int count;
+        private int errors;
+
+        private void record(long nanos, int status) {
+            lock.lock();
+            try {
+                if (status < 200 || status >= 300) {
+                    errors++;
+                }
+                if (count == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, count * 2);
+                }
+                latencies[count++] = nanos;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void print(String endpoint, int seconds) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            System.out.printf("%-10s %10d %10.0f %10.2f %10.2f %8d%n", endpoint, count, (double) count / seconds,
+                    percentile(sorted, 0.50), percentile(sorted, 0.99), errors);
+        }
+
+        private static double percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return Double.NaN;
+            }
+            int index = (int) Math.ceil(p * sorted.length) - 1;
+            return sorted[Math.max(index, 0)] / 1_000_000.0;
+        }
+    }
+}
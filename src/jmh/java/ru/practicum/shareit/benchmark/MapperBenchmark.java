@@ -0,0 +1,113 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.timeline.TimelineEntry;
+import ru.practicum.shareit.item.comments.CommentSummary;
+import ru.practicum.shareit.item.dto.CommentResponseDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemWithBookingsDto;
+import ru.practicum.shareit.item.mapper.CommentMapper;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The static entity-to-DTO mappers on detached entities, without any persistence work.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MapperBenchmark {
+    private static final int COMMENTS = 10;
+
+    private Item item;
+    private Booking booking;
+    private TimelineEntry entry;
+    private List<Comment> comments;
+
+    @Setup
+    public void setUp() {
+        DataGenerator generator = new DataGenerator(42);
+        User owner = user(1);
+        User booker = user(2);
+        item = ItemMapper.toItem(generator.item(1), null);
+        item.setId(1L);
+        item.setOwner(owner);
+
+        LocalDateTime start = LocalDateTime.now();
+        booking = new Booking();
+        booking.setId(1L);
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStart(start);
+        booking.setEnd(start.plusDays(1));
+        booking.setStatus(Status.APPROVED);
+        entry = new TimelineEntry(1L, 1L, 2L, start, start.plusDays(1));
+
+        comments = new ArrayList<>(COMMENTS);
+        for (int i = 0; i < COMMENTS; i++) {
+            Comment comment = new Comment();
+            comment.setId((long) i);
+            comment.setItem(item);
+            comment.setAuthor(booker);
+            comment.setText(generator.words(3, 20));
+            comment.setCreated(start.minusHours(i));
+            comments.add(comment);
+        }
+    }
+
+    @Benchmark
+    public BookingResponseDto bookingToResponseDto() {
+        return BookingMapper.toBookingResponseDto(booking);
+    }
+
+    @Benchmark
+    public BookingShortDto timelineEntryToShortDto() {
+        return BookingMapper.toShortDto(entry);
+    }
+
+    @Benchmark
+    public ItemDto itemToDto() {
+        return ItemMapper.toItemDto(item);
+    }
+
+    @Benchmark
+    public CommentResponseDto commentToResponseDto() {
+        return CommentMapper.toCommentResponseDto(comments.get(0));
+    }
+
+    @Benchmark
+    public ItemWithBookingsDto itemWithBookingsAndComments() {
+        List<CommentResponseDto> dtos = new ArrayList<>(comments.size());
+        for (Comment comment : comments) {
+            dtos.add(CommentMapper.toCommentResponseDto(comment));
+        }
+        return ItemMapper.toItemWithBookingsDto(item, BookingMapper.toShortDto(entry),
+                BookingMapper.toShortDto(entry), new CommentSummary(dtos.size(), dtos));
+    }
+
+    private static User user(long id) {
+        User user = new User();
+        user.setId(id);
+        user.setName("user" + id);
+        user.setEmail("user" + id + "@example.com");
+        return user;
+    }
+}
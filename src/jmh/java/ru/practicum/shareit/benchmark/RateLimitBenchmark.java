@@ -0,0 +1,105 @@
+package ru.practicum.shareit.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import ru.practicum.shareit.ratelimit.LoadShedder;
+import ru.practicum.shareit.ratelimit.RateLimitFilter;
+import ru.practicum.shareit.ratelimit.RateLimitProperties;
+import ru.practicum.shareit.ratelimit.RateLimiter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static ru.practicum.shareit.util.Constants.SHARER_ID_HEADER;
+
+/**
+ * Cost the rate-limit filter adds to a request that is let through: path matching, the bucket
+ * lookup and CAS, and the in-flight counter, against calling the chain directly. Buckets are
+ * spread over {@code users} clients; with one and {@code -t} above 1, every thread contends on the
+ * same bucket.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RateLimitBenchmark {
+    private static final int REQUESTS_PER_THREAD = 1024;
+    private static final FilterChain CHAIN = (request, response) -> {
+    };
+
+    @Param({"1", "100000"})
+    int users;
+
+    @Param({"/items/search", "/bookings/owner"})
+    String path;
+
+    private RateLimitFilter filter;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        RateLimitProperties properties = new RateLimitProperties();
+        // Limits nobody reaches, so every request takes the admitted path.
+        properties.setMaxBuckets(1_000_000);
+        properties.getDefaults().setRate(1e9);
+        properties.getDefaults().setBurst(1_000_000);
+        RateLimitProperties.Limit search = new RateLimitProperties.Limit();
+        search.setPaths(List.of("/items/search"));
+        search.setRate(1e9);
+        search.setBurst(1_000_000);
+        properties.getEndpoints().put("search", search);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        filter = new RateLimitFilter(new RateLimiter(properties, registry),
+                new LoadShedder(registry, 1_000_000, Duration.ZERO), properties, registry);
+        for (int user = 0; user < users; user++) {
+            filter.doFilter(request(user), new MockHttpServletResponse(), CHAIN);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Requests {
+        MockHttpServletRequest[] requests = new MockHttpServletRequest[REQUESTS_PER_THREAD];
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        int next;
+
+        @Setup(Level.Trial)
+        public void setUp(RateLimitBenchmark benchmark) {
+            for (int i = 0; i < REQUESTS_PER_THREAD; i++) {
+                requests[i] = benchmark.request(ThreadLocalRandom.current().nextInt(benchmark.users));
+            }
+        }
+
+        MockHttpServletRequest next() {
+            return requests[next++ & (REQUESTS_PER_THREAD - 1)];
+        }
+    }
+
+    @Benchmark
+    public MockHttpServletResponse baseline(Requests requests) throws Exception {
+        CHAIN.doFilter(requests.next(), requests.response);
+        return requests.response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse filtered(Requests requests) throws Exception {
+        filter.doFilter(requests.next(), requests.response, CHAIN);
+        return requests.response;
+    }
+
+    private MockHttpServletRequest request(int user) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.addHeader(SHARER_ID_HEADER, String.valueOf(user));
+        return request;
+    }
+}
@@ -0,0 +1,119 @@
+package ru.practicum.shareit.benchmark;
+
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.mapper.UserMapper;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost per returned row of the list read paths: managed entities mapped in a read-write
+ * transaction against DTO projections in a read-only one. Run with {@code -prof gc};
+ * {@code gc.alloc.rate.norm} is then bytes allocated per row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReadPathBenchmark {
+    private static final int ROWS = 1000;
+    private static final String ENTITY_SEARCH = """
+            SELECT i FROM Item i
+            WHERE i.available = true AND i.id > 0
+              AND (LOWER(i.name) LIKE LOWER(CONCAT('%', :text, '%'))
+                OR LOWER(i.description) LIKE LOWER(CONCAT('%', :text, '%')))
+            ORDER BY i.id
+            """;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate readWrite;
+    private EntityManager entityManager;
+    private UserService userService;
+    private ItemService itemService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("--spring.jpa.properties.hibernate.cache.use_second_level_cache=false");
+        readWrite = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        entityManager = context.getBean(EntityManager.class);
+        userService = context.getBean(UserService.class);
+        itemService = context.getBean(ItemService.class);
+
+        UserRepository users = context.getBean(UserRepository.class);
+        ItemRepository items = context.getBean(ItemRepository.class);
+        DataGenerator generator = new DataGenerator(42);
+        List<Item> batch = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            User user = new User();
+            user.setName("user" + i);
+            user.setEmail("user" + i + "@example.com");
+            User owner = users.save(user);
+            ItemDto dto = generator.item(i + 1);
+            dto.setAvailable(true);
+            dto.setDescription(dto.getDescription() + " tool");
+            Item item = ItemMapper.toItem(dto, null);
+            item.setOwner(owner);
+            batch.add(item);
+        }
+        items.saveAll(batch);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<UserDto> usersAsEntities() {
+        return readWrite.execute(status -> entityManager.createQuery("SELECT u FROM User u ORDER BY u.id", User.class)
+                .getResultList().stream()
+                .map(UserMapper::toUserDto)
+                .toList());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<UserDto> usersAsProjection() {
+        return userService.findAll();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<ItemDto> searchAsEntities() {
+        return readWrite.execute(status -> entityManager.createQuery(ENTITY_SEARCH, Item.class)
+                .setParameter("text", "tool")
+                .setMaxResults(ROWS)
+                .getResultList().stream()
+                .map(ItemMapper::toItemDto)
+                .toList());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<ItemDto> searchAsProjection() {
+        return itemService.search("tool", null, null, 0, ROWS);
+    }
+}
@@ -0,0 +1,96 @@
+package ru.practicum.shareit.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import ru.practicum.shareit.request.matching.OpenRequest;
+import ru.practicum.shareit.request.matching.RequestMatch;
+import ru.practicum.shareit.request.matching.RequestMatchIndex;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Matches item texts against an index of open requests, the work done for each created item.
+ * Request and item words are drawn from a Zipf distribution over a synthetic vocabulary, so a few
+ * hundred words are shared by thousands of requests and the long tail by a handful.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RequestMatchBenchmark {
+    private static final int VOCABULARY = 20_000;
+    private static final int ITEM_TEXTS = 1024;
+
+    @Param({"100000", "1000000"})
+    int requestCount;
+
+    @Param({"1000", "10000"})
+    int maxPostings;
+
+    private RequestMatchIndex index;
+    private String[] itemTexts;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        String[] words = new String[VOCABULARY];
+        for (int i = 0; i < VOCABULARY; i++) {
+            words[i] = word(i);
+        }
+        double[] cumulative = new double[VOCABULARY];
+        double sum = 0;
+        for (int i = 0; i < VOCABULARY; i++) {
+            sum += 1.0 / (i + 1);
+            cumulative[i] = sum;
+        }
+        for (int i = 0; i < VOCABULARY; i++) {
+            cumulative[i] /= sum;
+        }
+        index = new RequestMatchIndex(null, null, new SimpleMeterRegistry(), true, maxPostings, 0.5);
+        for (long id = 1; id <= requestCount; id++) {
+            index.add(new OpenRequest(id, id % 10_000, text(random, words, cumulative, 3, 8)));
+        }
+        itemTexts = new String[ITEM_TEXTS];
+        for (int i = 0; i < ITEM_TEXTS; i++) {
+            itemTexts[i] = text(random, words, cumulative, 4, 16);
+        }
+    }
+
+    @Benchmark
+    public List<RequestMatch> match() {
+        return index.match(itemTexts[next++ & (ITEM_TEXTS - 1)], -1L, 6);
+    }
+
+    private static String text(Random random, String[] words, double[] cumulative, int min, int max) {
+        int count = min + random.nextInt(max - min + 1);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            int rank = Arrays.binarySearch(cumulative, random.nextDouble());
+            text.append(words[rank < 0 ? Math.min(-rank - 1, VOCABULARY - 1) : rank]).append(' ');
+        }
+        return text.toString();
+    }
+
+    private static String word(int i) {
+        StringBuilder word = new StringBuilder("w");
+        do {
+            word.append((char) ('a' + i % 26));
+            i /= 26;
+        } while (i > 0);
+        while (word.length() < 3) {
+            word.append('x');
+        }
+        return word.toString();
+    }
+}
@@ -0,0 +1,70 @@
+package ru.practicum.shareit.booking.admission;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+import ru.practicum.shareit.booking.timeline.BookingTimelineIndex;
+import ru.practicum.shareit.booking.timeline.TimelineEntry;
+import ru.practicum.shareit.util.StripedLocks;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Serializes booking state changes per item and rejects intervals overlapping approved bookings.
+ * Item locks are striped, so bookings of unrelated items only contend on hash collisions.
+ * Locks are process-local: every instance must see all approvals of an item.
+ */
+@Component
+public class BookingAdmission {
+
+    private final BookingTimelineIndex bookingTimelines;
+    private final StripedLocks itemLocks;
+
+    public BookingAdmission(BookingTimelineIndex bookingTimelines,
+                            @Value("${shareit.booking.admission.lock-stripes:256}") int stripes) {
+        this.bookingTimelines = bookingTimelines;
+        this.itemLocks = new StripedLocks(stripes);
+    }
+
+    /**
+     * Holds the item lock until the current transaction completes, i.e. after the timeline
+     * has seen the committed approval.
+     */
+    public void lockItem(Long itemId) {
+        lockAll(List.of(itemLocks.get(itemId)));
+    }
+
+    /**
+     * Same as {@link #lockItem} for several items; stripes are taken in a fixed order.
+     */
+    public void lockItems(Collection<Long> itemIds) {
+        lockAll(itemLocks.getAll(itemIds));
+    }
+
+    private void lockAll(List<ReentrantLock> locks) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Booking admission requires an active transaction");
+        }
+        locks.forEach(ReentrantLock::lock);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                locks.forEach(ReentrantLock::unlock);
+            }
+        });
+    }
+
+    public void checkNoOverlap(Long itemId, LocalDateTime start, LocalDateTime end) {
+        TimelineEntry overlap = bookingTimelines.get(itemId).findOverlap(start, end);
+        if (overlap != null) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Item is already booked from " + overlap.getStart() + " to " + overlap.getEnd());
+        }
+    }
+}
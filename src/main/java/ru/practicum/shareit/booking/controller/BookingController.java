@@ -1,15 +1,37 @@
 package ru.practicum.shareit.booking.controller;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BookingBulkResultDto;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingExportDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.etag.ResourceETags;
+import ru.practicum.shareit.util.CsvWriter;
+import ru.practicum.shareit.util.NdjsonWriter;
 
 import java.util.List;
+import java.util.function.Consumer;
 
+import static ru.practicum.shareit.util.Constants.DEFAULT_SIZE;
+import static ru.practicum.shareit.util.Constants.MAX_BULK_SIZE;
+import static ru.practicum.shareit.util.Constants.MAX_PAGE_SIZE;
+import static ru.practicum.shareit.util.Constants.NEXT_CURSOR_HEADER;
 import static ru.practicum.shareit.util.Constants.SHARER_ID_HEADER;
 
 @Validated
@@ -18,7 +40,13 @@ import static ru.practicum.shareit.util.Constants.SHARER_ID_HEADER;
 @RequestMapping("/bookings")
 public class BookingController {
 
+    private static final String TEXT_CSV_VALUE = "text/csv";
+    private static final List<String> EXPORT_COLUMNS =
+            List.of("id", "start", "end", "status", "item_id", "item_name", "booker_id");
+
     private final BookingService bookingService;
+    private final ObjectMapper objectMapper;
+    private final ResourceETags etags;
 
     @PostMapping
     public BookingResponseDto create(@RequestBody @Valid BookingRequestDto bookingDto,
@@ -26,15 +54,84 @@ public class BookingController {
         return bookingService.create(bookingDto, userId);
     }
 
+    /**
+     * Creates up to {@value ru.practicum.shareit.util.Constants#MAX_BULK_SIZE} bookings at once; the result
+     * list is in request order.
+     */
+    @PostMapping("/bulk")
+    public List<BookingBulkResultDto> createAll(
+            @RequestBody @NotEmpty @Size(max = MAX_BULK_SIZE) List<BookingRequestDto> bookingDtos,
+            @RequestHeader(SHARER_ID_HEADER) Long userId) {
+        return bookingService.createAll(bookingDtos, userId);
+    }
+
+    @PatchMapping("/bulk")
+    public List<BookingBulkResultDto> approveAll(@RequestBody @NotEmpty @Size(max = MAX_BULK_SIZE) List<Long> bookingIds,
+                                                 @RequestParam("approved") boolean approved,
+                                                 @RequestHeader(SHARER_ID_HEADER) Long ownerId) {
+        return bookingService.approveAll(bookingIds, ownerId, approved);
+    }
+
+    /**
+     * Answers {@code If-None-Match} with 304 from the known versions when it can, before loading the booking.
+     */
     @GetMapping("/{bookingId}")
-    public BookingResponseDto get(@PathVariable Long bookingId,
-                          @RequestHeader(SHARER_ID_HEADER) Long userId) {
-        return bookingService.getById(bookingId, userId);
+    public ResponseEntity<BookingResponseDto> get(
+            @PathVariable Long bookingId,
+            @RequestHeader(SHARER_ID_HEADER) Long userId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            String known = etags.knownBooking(bookingId, userId);
+            if (ResourceETags.matches(ifNoneMatch, known)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(known).build();
+            }
+        }
+        BookingResponseDto booking = bookingService.getById(bookingId, userId);
+        // A match against the loaded version is answered with 304 by Spring as well.
+        return ResponseEntity.ok().eTag(ResourceETags.of(booking)).body(booking);
     }
 
     @GetMapping
-    public List<BookingResponseDto> getAllByUser(@RequestHeader(SHARER_ID_HEADER) Long userId) {
-        return bookingService.getAllByUser(userId);
+    public ResponseEntity<List<BookingResponseDto>> getAllByUser(
+            @RequestHeader(SHARER_ID_HEADER) Long userId,
+            @RequestParam(defaultValue = "ALL") String state,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_SIZE) @Positive @Max(MAX_PAGE_SIZE) int size) {
+        return page(bookingService.getAllByUser(userId, BookingState.from(state), BookingCursor.decode(cursor), size),
+                size);
+    }
+
+    @GetMapping("/owner")
+    public ResponseEntity<List<BookingResponseDto>> getAllByOwner(
+            @RequestHeader(SHARER_ID_HEADER) Long ownerId,
+            @RequestParam(defaultValue = "ALL") String state,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_SIZE) @Positive @Max(MAX_PAGE_SIZE) int size) {
+        return page(bookingService.getAllByOwner(ownerId, BookingState.from(state), BookingCursor.decode(cursor), size),
+                size);
+    }
+
+    /**
+     * Streams the user's whole booking history, newest first, as the response is written.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportByUserNdjson(@RequestHeader(SHARER_ID_HEADER) Long userId) {
+        return ndjson(consumer -> bookingService.exportAllByUser(userId, consumer));
+    }
+
+    @GetMapping(value = "/export", produces = TEXT_CSV_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportByUserCsv(@RequestHeader(SHARER_ID_HEADER) Long userId) {
+        return csv(consumer -> bookingService.exportAllByUser(userId, consumer));
+    }
+
+    @GetMapping(value = "/owner/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportByOwnerNdjson(@RequestHeader(SHARER_ID_HEADER) Long ownerId) {
+        return ndjson(consumer -> bookingService.exportAllByOwner(ownerId, consumer));
+    }
+
+    @GetMapping(value = "/owner/export", produces = TEXT_CSV_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportByOwnerCsv(@RequestHeader(SHARER_ID_HEADER) Long ownerId) {
+        return csv(consumer -> bookingService.exportAllByOwner(ownerId, consumer));
     }
 
     @PatchMapping("/{bookingId}")
@@ -43,5 +140,44 @@ public class BookingController {
                                       @RequestHeader(SHARER_ID_HEADER) Long ownerId) {
         return bookingService.approveBooking(bookingId, ownerId, approved);
     }
-}
 
+    private ResponseEntity<StreamingResponseBody> ndjson(Consumer<Consumer<BookingExportDto>> export) {
+        StreamingResponseBody body = out -> {
+            try (NdjsonWriter writer = new NdjsonWriter(objectMapper, out)) {
+                export.accept(writer::accept);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"bookings.ndjson\"")
+                .body(body);
+    }
+
+    private ResponseEntity<StreamingResponseBody> csv(Consumer<Consumer<BookingExportDto>> export) {
+        StreamingResponseBody body = out -> {
+            try (CsvWriter<BookingExportDto> writer = new CsvWriter<>(out, EXPORT_COLUMNS, BookingController::csvRow)) {
+                export.accept(writer);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(TEXT_CSV_VALUE + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"bookings.csv\"")
+                .body(body);
+    }
+
+    private static Object[] csvRow(BookingExportDto booking) {
+        return new Object[]{booking.getId(), booking.getStart(), booking.getEnd(), booking.getStatus(),
+                booking.getItemId(), booking.getItemName(), booking.getBookerId()};
+    }
+
+    /**
+     * A full page carries the cursor of its last booking; a shorter one is the end of the listing.
+     */
+    private ResponseEntity<List<BookingResponseDto>> page(List<BookingResponseDto> bookings, int size) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (bookings.size() == size) {
+            response.header(NEXT_CURSOR_HEADER, BookingCursor.after(bookings.get(bookings.size() - 1)).encode());
+        }
+        return response.body(bookings);
+    }
+}
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.booking.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Outcome of one element of a bulk call: the HTTP status the element would have got on its own,
+ * with the booking on success or the error message otherwise.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BookingBulkResultDto {
+    int index;
+    int status;
+    BookingResponseDto booking;
+    String error;
+}
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.booking.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AccessLevel;
 import lombok.Data;
 import lombok.experimental.FieldDefaults;
@@ -18,11 +19,17 @@ public class BookingResponseDto {
     ItemInfo item;
     BookerInfo booker;
 
+    @JsonIgnore
+    Long version;
+
     @Data
     @FieldDefaults(level = AccessLevel.PRIVATE)
     public static class ItemInfo {
         Long id;
         String name;
+
+        @JsonIgnore
+        Long version;
     }
 
     @Data
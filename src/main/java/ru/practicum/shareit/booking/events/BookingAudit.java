@@ -0,0 +1,30 @@
+package ru.practicum.shareit.booking.events;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@Table(name = "booking_audit", indexes = @Index(name = "ix_booking_audit_booking", columnList = "booking_id"))
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BookingAudit {
+    @Id
+    Long eventId;
+
+    @Column(nullable = false)
+    Long bookingId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16, nullable = false)
+    BookingEventType type;
+
+    @Column(nullable = false)
+    LocalDateTime occurredAt;
+
+    @Column(nullable = false)
+    LocalDateTime recordedAt;
+}
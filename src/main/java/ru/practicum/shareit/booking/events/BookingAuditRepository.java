@@ -0,0 +1,16 @@
+package ru.practicum.shareit.booking.events;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface BookingAuditRepository extends JpaRepository<BookingAudit, Long> {
+
+    @Query("select a.eventId from BookingAudit a where a.eventId in :eventIds")
+    List<Long> findEventIdsByEventIdIn(@Param("eventIds") Collection<Long> eventIds);
+
+    List<BookingAudit> findByBookingIdOrderByEventId(Long bookingId);
+}
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.booking.events;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Appends each event to the booking audit trail. Runs in the dispatcher's transaction; an event
+ * delivered again after a retry is recorded once, keyed by its outbox id.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingAuditSink implements BookingEventSink {
+
+    private final BookingAuditRepository auditRepository;
+
+    @Override
+    public void deliver(List<BookingEvent> events) {
+        Set<Long> recorded = new HashSet<>(auditRepository.findEventIdsByEventIdIn(
+                events.stream().map(BookingEvent::getId).toList()));
+        LocalDateTime now = LocalDateTime.now();
+        auditRepository.saveAll(events.stream()
+                .filter(event -> !recorded.contains(event.getId()))
+                .map(event -> {
+                    BookingAudit audit = new BookingAudit();
+                    audit.setEventId(event.getId());
+                    audit.setBookingId(event.getBookingId());
+                    audit.setType(event.getType());
+                    audit.setOccurredAt(event.getOccurredAt());
+                    audit.setRecordedAt(now);
+                    return audit;
+                })
+                .toList());
+    }
+}
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.booking.events;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * What sinks are given. Delivery is at least once, so sinks should be idempotent on {@code id}.
+ */
+@Value
+public class BookingEvent {
+    Long id;
+    BookingEventType type;
+    Long bookingId;
+    Long itemId;
+    Long bookerId;
+    Long ownerId;
+    LocalDateTime occurredAt;
+
+    static BookingEvent of(BookingOutboxEvent event) {
+        return new BookingEvent(event.getId(), event.getType(), event.getBookingId(), event.getItemId(),
+                event.getBookerId(), event.getOwnerId(), event.getOccurredAt());
+    }
+}
@@ -0,0 +1,193 @@
+package ru.practicum.shareit.booking.events;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Delivers outbox events to every {@link BookingEventSink} on one background thread. Each round
+ * takes up to {@code batch-size} due events, hands them to the sinks as one batch and deletes them
+ * in the same transaction, so events pile up into larger batches while sinks are slow and request
+ * threads never wait for delivery. The backlog lives in the table, not in memory, and
+ * {@link BookingEventOutbox} refuses new events past {@code max-pending}.
+ * <p>
+ * A failed batch is retried event by event to isolate the culprit, which is rescheduled with
+ * exponential backoff and parked after {@code max-attempts}. The thread is woken after each commit
+ * that appended events and otherwise polls, which also picks up events left by a crash.
+ */
+@Slf4j
+@Component
+public class BookingEventDispatcher implements SmartLifecycle {
+
+    private final BookingEventRepository eventRepository;
+    private final List<BookingEventSink> sinks;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final Duration retryBackoff;
+    private final int maxAttempts;
+
+    private final Counter delivered;
+    private final Counter retried;
+    private final Counter parked;
+    private final Timer batchTimer;
+    private final DistributionSummary batchSizes;
+
+    private volatile boolean running;
+    private volatile Thread worker;
+
+    public BookingEventDispatcher(BookingEventRepository eventRepository,
+                                  List<BookingEventSink> sinks,
+                                  TransactionTemplate transactionTemplate,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${shareit.booking.events.dispatcher.enabled:true}") boolean enabled,
+                                  @Value("${shareit.booking.events.batch-size:200}") int batchSize,
+                                  @Value("${shareit.booking.events.poll-interval:1s}") Duration pollInterval,
+                                  @Value("${shareit.booking.events.retry-backoff:1s}") Duration retryBackoff,
+                                  @Value("${shareit.booking.events.max-attempts:10}") int maxAttempts) {
+        this.eventRepository = eventRepository;
+        this.sinks = sinks;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+        this.retryBackoff = retryBackoff;
+        this.maxAttempts = maxAttempts;
+        this.delivered = meterRegistry.counter("shareit.booking.events", "outcome", "delivered");
+        this.retried = meterRegistry.counter("shareit.booking.events", "outcome", "retried");
+        this.parked = meterRegistry.counter("shareit.booking.events", "outcome", "parked");
+        this.batchTimer = meterRegistry.timer("shareit.booking.events.batch");
+        this.batchSizes = DistributionSummary.builder("shareit.booking.events.batch.size").register(meterRegistry);
+    }
+
+    public void signal() {
+        Thread thread = worker;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        worker = Thread.ofPlatform().name("booking-events").daemon().start(this::run);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = worker;
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join(pollInterval.toMillis() + 5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        worker = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Delivers due events until none are left; returns how many were delivered.
+     */
+    public int dispatchDue() {
+        int total = 0;
+        int count;
+        do {
+            count = dispatchBatch();
+            total += count;
+        } while (count == batchSize);
+        return total;
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                dispatchDue();
+            } catch (RuntimeException e) {
+                log.warn("Booking event dispatch failed: {}", e.getMessage());
+            }
+            if (running) {
+                LockSupport.parkNanos(pollInterval.toNanos());
+            }
+        }
+    }
+
+    private int dispatchBatch() {
+        List<Long> ids = new ArrayList<>();
+        try {
+            Integer count = transactionTemplate.execute(status -> {
+                List<BookingOutboxEvent> due = eventRepository.findDue(LocalDateTime.now(), Limit.of(batchSize));
+                due.forEach(event -> ids.add(event.getId()));
+                deliver(due);
+                return due.size();
+            });
+            return count == null ? 0 : count;
+        } catch (RuntimeException e) {
+            if (ids.isEmpty()) {
+                throw e;
+            }
+            log.warn("Booking event batch of {} failed, retrying one by one: {}", ids.size(), e.getMessage());
+            ids.forEach(this::dispatchOne);
+            return ids.size();
+        }
+    }
+
+    private void dispatchOne(Long id) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> deliver(eventRepository.findForUpdateByIdIn(List.of(id))));
+        } catch (RuntimeException e) {
+            transactionTemplate.executeWithoutResult(status -> eventRepository.findById(id)
+                    .ifPresent(event -> reschedule(event, e)));
+        }
+    }
+
+    private void deliver(List<BookingOutboxEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        List<BookingEvent> batch = events.stream().map(BookingEvent::of).toList();
+        batchTimer.record(() -> sinks.forEach(sink -> sink.deliver(batch)));
+        eventRepository.deleteAllInBatch(events);
+        delivered.increment(events.size());
+        batchSizes.record(events.size());
+    }
+
+    private void reschedule(BookingOutboxEvent event, RuntimeException failure) {
+        int attempts = event.getAttempts() + 1;
+        event.setAttempts(attempts);
+        event.setLastError(String.valueOf(failure.getMessage()));
+        if (attempts >= maxAttempts) {
+            event.setNextAttemptAt(null);
+            parked.increment();
+            log.error("Booking event {} parked after {} attempts: {}", event.getId(), attempts, failure.getMessage());
+        } else {
+            long delay = retryBackoff.toMillis() << Math.min(attempts - 1, 16);
+            event.setNextAttemptAt(LocalDateTime.now().plus(Duration.ofMillis(delay)));
+            retried.increment();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package ru.practicum.shareit.booking.events;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.util.AfterCommit;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records booking events in the caller's transaction, so an event exists exactly when its booking
+ * change is committed, and wakes the dispatcher once it is.
+ * <p>
+ * The backlog of undelivered events is bounded by {@code shareit.booking.events.max-pending}: past
+ * it, booking changes are refused with 503 until the dispatcher catches up. The count is taken from
+ * the table every {@code backlog-check-interval-ms}, so it covers every instance appending to it,
+ * and raised by this instance's own commits in between.
+ */
+@Component
+public class BookingEventOutbox {
+
+    private final EntityManager entityManager;
+    private final BookingEventDispatcher dispatcher;
+    private final BookingEventRepository eventRepository;
+    private final long maxPending;
+    private final AtomicLong pending = new AtomicLong();
+
+    public BookingEventOutbox(EntityManager entityManager,
+                              BookingEventDispatcher dispatcher,
+                              BookingEventRepository eventRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${shareit.booking.events.max-pending:100000}") long maxPending) {
+        this.entityManager = entityManager;
+        this.dispatcher = dispatcher;
+        this.eventRepository = eventRepository;
+        this.maxPending = maxPending;
+        Gauge.builder("shareit.booking.events.pending", pending, AtomicLong::get).register(meterRegistry);
+    }
+
+    /**
+     * Refuses with 503 while the backlog is full, so a batch can be turned away before any of it changes.
+     */
+    public void checkBacklog() {
+        if (pending.get() >= maxPending) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Booking events are not being delivered, try again later");
+        }
+    }
+
+    public void append(Booking booking, BookingEventType type) {
+        checkBacklog();
+        LocalDateTime now = LocalDateTime.now();
+        BookingOutboxEvent event = new BookingOutboxEvent();
+        event.setType(type);
+        event.setBookingId(booking.getId());
+        event.setItemId(booking.getItem().getId());
+        event.setBookerId(booking.getBooker().getId());
+        event.setOwnerId(booking.getItem().getOwner().getId());
+        event.setOccurredAt(now);
+        event.setNextAttemptAt(now);
+        entityManager.persist(event);
+        AfterCommit.run(() -> {
+            pending.incrementAndGet();
+            dispatcher.signal();
+        });
+    }
+
+    /**
+     * Parked events are left out: they wait for an operator, not for the dispatcher.
+     */
+    @Scheduled(fixedDelayString = "${shareit.booking.events.backlog-check-interval-ms:1000}")
+    public void countPending() {
+        pending.set(eventRepository.countByNextAttemptAtIsNotNull());
+    }
+}
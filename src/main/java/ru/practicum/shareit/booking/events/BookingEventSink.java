@@ -0,0 +1,11 @@
+package ru.practicum.shareit.booking.events;
+
+import java.util.List;
+
+/**
+ * Receives batches of booking events, oldest first. A sink runs in the transaction that removes
+ * the events from the outbox; throwing rolls that back and the events are retried later.
+ */
+public interface BookingEventSink {
+    void deliver(List<BookingEvent> events);
+}
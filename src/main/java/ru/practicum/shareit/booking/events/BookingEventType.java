@@ -0,0 +1,7 @@
+package ru.practicum.shareit.booking.events;
+
+public enum BookingEventType {
+    CREATED,
+    APPROVED,
+    REJECTED
+}
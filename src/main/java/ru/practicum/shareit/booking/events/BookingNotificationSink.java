@@ -0,0 +1,31 @@
+package ru.practicum.shareit.booking.events;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Notifies the owner and the booker of each event. There is no mail or push channel yet, so the
+ * notifications only go to the log.
+ */
+@Slf4j
+@Component
+public class BookingNotificationSink implements BookingEventSink {
+
+    @Override
+    public void deliver(List<BookingEvent> events) {
+        if (!log.isDebugEnabled()) {
+            return;
+        }
+        for (BookingEvent event : events) {
+            switch (event.getType()) {
+                case CREATED -> log.debug("Notify owner {}: booking {} of item {} requested by user {}",
+                        event.getOwnerId(), event.getBookingId(), event.getItemId(), event.getBookerId());
+                case APPROVED, REJECTED -> log.debug("Notify booker {}: booking {} of item {} {}",
+                        event.getBookerId(), event.getBookingId(), event.getItemId(),
+                        event.getType().name().toLowerCase());
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package ru.practicum.shareit.booking.events;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+/**
+ * A booking event waiting for delivery, written in the transaction that changed the booking.
+ * Rows are deleted once every sink has taken them; {@code nextAttemptAt} is cleared when an event
+ * runs out of attempts, which parks it for inspection.
+ */
+@Data
+@Entity
+@Table(name = "booking_events",
+        indexes = @Index(name = "ix_booking_events_next_attempt", columnList = "next_attempt_at, id"))
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BookingOutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_events_seq")
+    @SequenceGenerator(name = "booking_events_seq", sequenceName = "booking_events_seq", allocationSize = 50)
+    Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16, nullable = false)
+    BookingEventType type;
+
+    @Column(nullable = false)
+    Long bookingId;
+
+    @Column(nullable = false)
+    Long itemId;
+
+    @Column(nullable = false)
+    Long bookerId;
+
+    @Column(nullable = false)
+    Long ownerId;
+
+    @Column(nullable = false)
+    LocalDateTime occurredAt;
+
+    @Column(nullable = false)
+    int attempts;
+
+    LocalDateTime nextAttemptAt;
+
+    @Column(length = 1000)
+    String lastError;
+}
@@ -4,6 +4,7 @@ import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.dto.BookingShortDto;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.timeline.TimelineEntry;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
@@ -24,10 +25,12 @@ public class BookingMapper {
         dto.setStart(booking.getStart());
         dto.setEnd(booking.getEnd());
         dto.setStatus(booking.getStatus());
+        dto.setVersion(booking.getVersion());
 
         BookingResponseDto.ItemInfo itemInfo = new BookingResponseDto.ItemInfo();
         itemInfo.setId(booking.getItem().getId());
         itemInfo.setName(booking.getItem().getName());
+        itemInfo.setVersion(booking.getItem().getVersion());
         dto.setItem(itemInfo);
 
         BookingResponseDto.BookerInfo bookerInfo = new BookingResponseDto.BookerInfo();
@@ -45,4 +48,16 @@ public class BookingMapper {
         );
         return dto;
     }
+
+    public static BookingShortDto toShortDto(TimelineEntry entry) {
+        if (entry == null) {
+            return null;
+        }
+        BookingShortDto dto = new BookingShortDto();
+        dto.setId(entry.getId());
+        dto.setBookerId(entry.getBookerId());
+        dto.setStart(entry.getStart());
+        dto.setEnd(entry.getEnd());
+        return dto;
+    }
 }
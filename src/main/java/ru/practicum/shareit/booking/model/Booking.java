@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.AccessLevel;
 import lombok.Data;
 import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.etag.EntityVersionListener;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
@@ -11,11 +12,17 @@ import java.time.LocalDateTime;
 
 @Data
 @Entity
-@Table(name = "bookings")
+@EntityListeners(EntityVersionListener.class)
+@Table(name = "bookings", indexes = {
+        @Index(name = "ix_bookings_booker_start", columnList = "booker_id, start_date"),
+        @Index(name = "ix_bookings_item_status_start", columnList = "item_id, status, start_date"),
+        @Index(name = "ix_bookings_item_approved_end", columnList = "item_id, end_date, start_date")
+})
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class Booking {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
     Long id;
 
     @Column(name = "start_date", nullable = false)
@@ -35,4 +42,8 @@ public class Booking {
     @Enumerated(EnumType.STRING)
     @Column(length = 16, nullable = false)
     Status status;
-}
\ No newline at end of file
+
+    @Version
+    @Column(nullable = false)
+    Long version;
+}
@@ -1,46 +1,89 @@
 package ru.practicum.shareit.booking.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.booking.dto.BookingExportDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.timeline.TimelineEntry;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, JpaSpecificationExecutor<Booking> {
 
     boolean existsByBookerIdAndItemIdAndStatusAndEndBefore(Long bookerId,
                                                            Long itemId,
                                                            Status status,
                                                            LocalDateTime before);
 
+    @EntityGraph(attributePaths = "item")
+    Optional<Booking> findWithItemById(Long id);
+
+    @EntityGraph(attributePaths = "item")
+    List<Booking> findWithItemByIdIn(Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
     @Query("""
-            SELECT b FROM Booking b
-            WHERE b.item.id = :itemId AND b.status = :status AND b.start < :now
-            ORDER BY b.end DESC
+            SELECT new ru.practicum.shareit.booking.dto.BookingExportDto(
+                b.id, b.start, b.end, b.status, i.id, i.name, b.booker.id)
+            FROM Booking b JOIN b.item i
+            WHERE b.booker.id = :bookerId
+            ORDER BY b.start DESC, b.id DESC
             """)
-    Optional<Booking> findLastBooking(@Param("itemId") Long itemId,
-                                      @Param("status") Status status,
-                                      @Param("now") LocalDateTime now);
+    Stream<BookingExportDto> streamExportByBookerId(@Param("bookerId") Long bookerId);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
     @Query("""
-            SELECT b FROM Booking b
-            WHERE b.item.id = :itemId AND b.status = :status AND b.start > :now
-            ORDER BY b.start ASC
+            SELECT new ru.practicum.shareit.booking.dto.BookingExportDto(
+                b.id, b.start, b.end, b.status, i.id, i.name, b.booker.id)
+            FROM Booking b JOIN b.item i
+            WHERE i.owner.id = :ownerId
+            ORDER BY b.start DESC, b.id DESC
             """)
-    Optional<Booking> findNextBooking(@Param("itemId") Long itemId,
-                                      @Param("status") Status status,
-                                      @Param("now") LocalDateTime now);
+    Stream<BookingExportDto> streamExportByOwnerId(@Param("ownerId") Long ownerId);
 
-    List<Booking> findByItemIdIn(List<Long> itemIds);
+    @Query("SELECT DISTINCT b.item.id FROM Booking b WHERE b.id IN :bookingIds")
+    List<Long> findItemIdsByIdIn(@Param("bookingIds") Collection<Long> bookingIds);
+
+    @Query("SELECT b.item.id FROM Booking b WHERE b.id = :bookingId")
+    Optional<Long> findItemIdById(@Param("bookingId") Long bookingId);
 
     @Query("""
-            SELECT b FROM Booking b
-            WHERE b.booker.id = :bookerId
-            ORDER BY b.start DESC
+            SELECT new ru.practicum.shareit.booking.timeline.TimelineEntry(b.id, b.item.id, b.booker.id, b.start, b.end)
+            FROM Booking b
+            WHERE b.item.id IN :itemIds AND b.status = :status AND b.end > :now
+            """)
+    List<TimelineEntry> findTimelineEntries(@Param("itemIds") Collection<Long> itemIds,
+                                            @Param("status") Status status,
+                                            @Param("now") LocalDateTime now);
+
+    @Query("""
+            SELECT new ru.practicum.shareit.booking.timeline.TimelineEntry(b.id, b.item.id, b.booker.id, b.start, b.end)
+            FROM Booking b
+            WHERE b.item.id IN :itemIds AND b.status = :status AND b.end <= :now
+              AND b.start = (SELECT MAX(l.start) FROM Booking l
+                             WHERE l.item.id = b.item.id AND l.status = :status AND l.start < :now)
+            """)
+    List<TimelineEntry> findLastTimelineEntries(@Param("itemIds") Collection<Long> itemIds,
+                                                @Param("status") Status status,
+                                                @Param("now") LocalDateTime now);
+
+    @Query("""
+            SELECT DISTINCT b.item.id FROM Booking b
+            WHERE b.item.id IN :itemIds AND b.status = :status AND b.end > :start AND b.start < :end
             """)
-    List<Booking> findByBookerId(@Param("bookerId") Long bookerId);
+    List<Long> findItemIdsBookedBetween(@Param("itemIds") Collection<Long> itemIds,
+                                        @Param("status") Status status,
+                                        @Param("start") LocalDateTime start,
+                                        @Param("end") LocalDateTime end);
 }
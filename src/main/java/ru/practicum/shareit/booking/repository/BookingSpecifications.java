@@ -0,0 +1,45 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.Status;
+
+import java.time.LocalDateTime;
+
+public final class BookingSpecifications {
+
+    private BookingSpecifications() {
+    }
+
+    public static Specification<Booking> bookedBy(Long bookerId) {
+        return (root, query, cb) -> cb.equal(root.get("booker").get("id"), bookerId);
+    }
+
+    public static Specification<Booking> ownedBy(Long ownerId) {
+        return (root, query, cb) -> cb.equal(root.join("item").get("owner").get("id"), ownerId);
+    }
+
+    public static Specification<Booking> inState(BookingState state, LocalDateTime now) {
+        return (root, query, cb) -> switch (state) {
+            case ALL -> null;
+            case CURRENT -> cb.and(cb.lessThanOrEqualTo(root.get("start"), now),
+                    cb.greaterThanOrEqualTo(root.get("end"), now));
+            case PAST -> cb.lessThan(root.get("end"), now);
+            case FUTURE -> cb.greaterThan(root.get("start"), now);
+            case WAITING -> cb.equal(root.get("status"), Status.WAITING);
+            case REJECTED -> cb.equal(root.get("status"), Status.REJECTED);
+        };
+    }
+
+    /**
+     * Bookings strictly after the cursor in (start, id) descending order.
+     */
+    public static Specification<Booking> after(BookingCursor cursor) {
+        return (root, query, cb) -> cursor == null ? null : cb.or(
+                cb.lessThan(root.get("start"), cursor.getStart()),
+                cb.and(cb.equal(root.get("start"), cursor.getStart()),
+                        cb.lessThan(root.get("id"), cursor.getId())));
+    }
+}
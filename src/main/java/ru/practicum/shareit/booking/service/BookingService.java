@@ -1,16 +1,31 @@
 package ru.practicum.shareit.booking.service;
 
+import ru.practicum.shareit.booking.dto.BookingBulkResultDto;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingExportDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.model.BookingState;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface BookingService {
     BookingResponseDto  create(BookingRequestDto  bookingDto, Long userId);
 
     BookingResponseDto  getById(Long bookingId, Long userId);
 
-    List<BookingResponseDto> getAllByUser(Long userId);
+    List<BookingResponseDto> getAllByUser(Long userId, BookingState state, BookingCursor cursor, int size);
+
+    List<BookingResponseDto> getAllByOwner(Long ownerId, BookingState state, BookingCursor cursor, int size);
+
+    void exportAllByUser(Long userId, Consumer<? super BookingExportDto> consumer);
+
+    void exportAllByOwner(Long ownerId, Consumer<? super BookingExportDto> consumer);
 
     BookingResponseDto approveBooking(Long bookingId, Long ownerId, boolean approved);
+
+    List<BookingBulkResultDto> createAll(List<BookingRequestDto> bookingDtos, Long userId);
+
+    List<BookingBulkResultDto> approveAll(List<Long> bookingIds, Long ownerId, boolean approved);
 }
@@ -1,62 +1,85 @@
 package ru.practicum.shareit.booking.service;
 
-import jakarta.transaction.Transactional;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
+import ru.practicum.shareit.booking.admission.BookingAdmission;
+import ru.practicum.shareit.booking.dto.BookingBulkResultDto;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingExportDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.events.BookingEventOutbox;
+import ru.practicum.shareit.booking.events.BookingEventType;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.BookingSpecifications;
+import ru.practicum.shareit.booking.timeline.BookingTimelineIndex;
+import ru.practicum.shareit.item.dashboard.ItemDashboardUpdater;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.item.service.ItemServiceImpl;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserServiceImpl;
 
+import java.time.Clock;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
 
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "start", "id");
+
     private final BookingRepository bookingRepository;
     private final ItemServiceImpl itemService;
     private final UserServiceImpl userService;
+    private final BookingTimelineIndex bookingTimelines;
+    private final BookingAdmission bookingAdmission;
+    private final ItemRepository itemRepository;
+    private final Validator validator;
+    private final ItemDashboardUpdater dashboardUpdater;
+    private final BookingEventOutbox eventOutbox;
+    private final Clock clock;
 
     @Override
     public BookingResponseDto create(BookingRequestDto dto, Long userId) {
         User booker = userService.findEntityById(userId);
         Item item   = itemService.findEntityById(dto.getItemId());
-
-        if (item.getOwner().getId().equals(userId)) {
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Owner can't book own item");
-        }
-        if (!item.getAvailable()) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Item is unavailable");
-        }
-        if (dto.getStart().isAfter(dto.getEnd()) || dto.getStart().isEqual(dto.getEnd())) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Start must be before end");
-        }
-        if (dto.getStart().isBefore(LocalDateTime.now()) || dto.getEnd().isBefore(LocalDateTime.now())) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Booking dates must be in future");
-        }
+        checkBookable(dto, item, userId);
 
         Booking booking = BookingMapper.toBooking(dto, item, booker);
         booking.setStatus(Status.WAITING);
 
-        return BookingMapper.toBookingResponseDto(bookingRepository.save(booking));
+        Booking saved = bookingRepository.save(booking);
+        eventOutbox.append(saved, BookingEventType.CREATED);
+        return BookingMapper.toBookingResponseDto(saved);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public BookingResponseDto getById(Long bookingId, Long userId) {
-        Booking booking = bookingRepository.findById(bookingId)
+        Booking booking = bookingRepository.findWithItemById(bookingId)
                 .orElseThrow(() -> new NoSuchElementException("Booking not found"));
 
         if (!booking.getBooker().getId().equals(userId)
@@ -68,26 +91,207 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    public List<BookingResponseDto> getAllByUser(Long userId) {
-        return bookingRepository.findByBookerId(userId).stream()
-                .map(BookingMapper::toBookingResponseDto)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public List<BookingResponseDto> getAllByUser(Long userId, BookingState state, BookingCursor cursor, int size) {
+        return findPage(BookingSpecifications.bookedBy(userId), state, cursor, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookingResponseDto> getAllByOwner(Long ownerId, BookingState state, BookingCursor cursor, int size) {
+        return findPage(BookingSpecifications.ownedBy(ownerId), state, cursor, size);
+    }
+
+    /**
+     * Streams the whole history through a forward-only cursor as DTO projections, so neither the
+     * persistence context nor the result grows with it; must be consumed within the call.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportAllByUser(Long userId, Consumer<? super BookingExportDto> consumer) {
+        try (Stream<BookingExportDto> bookings = bookingRepository.streamExportByBookerId(userId)) {
+            bookings.forEach(consumer);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportAllByOwner(Long ownerId, Consumer<? super BookingExportDto> consumer) {
+        try (Stream<BookingExportDto> bookings = bookingRepository.streamExportByOwnerId(ownerId)) {
+            bookings.forEach(consumer);
+        }
     }
 
     @Override
     public BookingResponseDto approveBooking(Long bookingId, Long ownerId, boolean approved) {
-        Booking booking = bookingRepository.findById(bookingId)
+        Long itemId = bookingRepository.findItemIdById(bookingId)
+                .orElseThrow(() -> new NoSuchElementException("Booking not found"));
+        bookingAdmission.lockItem(itemId);
+
+        Booking booking = bookingRepository.findWithItemById(bookingId)
                 .orElseThrow(() -> new NoSuchElementException("Booking not found"));
+        checkApprovable(booking, ownerId, approved);
 
+        booking.setStatus(approved ? Status.APPROVED : Status.REJECTED);
+        Booking saved = bookingRepository.save(booking);
+        if (saved.getStatus() == Status.APPROVED) {
+            bookingTimelines.onApproved(saved);
+            dashboardUpdater.onApproved(List.of(saved));
+        }
+        eventOutbox.append(saved, approved ? BookingEventType.APPROVED : BookingEventType.REJECTED);
+        return BookingMapper.toBookingResponseDto(saved);
+    }
+
+    /**
+     * Creates the valid elements in one transaction; their inserts are sent in JDBC batches.
+     * Invalid elements are reported with the status the single-booking endpoint would return.
+     */
+    @Override
+    public List<BookingBulkResultDto> createAll(List<BookingRequestDto> dtos, Long userId) {
+        eventOutbox.checkBacklog();
+        User booker = userService.findEntityById(userId);
+        Map<Long, Item> items = itemRepository.findAllById(dtos.stream()
+                        .map(BookingRequestDto::getItemId)
+                        .filter(Objects::nonNull)
+                        .distinct()
+                        .toList())
+                .stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        bookingTimelines.getAll(items.keySet());
+
+        BookingBulkResultDto[] results = new BookingBulkResultDto[dtos.size()];
+        List<Booking> accepted = new ArrayList<>();
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            BookingRequestDto dto = dtos.get(i);
+            try {
+                checkValid(dto);
+                Item item = items.get(dto.getItemId());
+                if (item == null) {
+                    throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Item not found");
+                }
+                checkBookable(dto, item, userId);
+                Booking booking = BookingMapper.toBooking(dto, item, booker);
+                booking.setStatus(Status.WAITING);
+                accepted.add(booking);
+                acceptedIndexes.add(i);
+            } catch (ResponseStatusException e) {
+                results[i] = failure(i, e);
+            }
+        }
+
+        List<Booking> saved = bookingRepository.saveAll(accepted);
+        for (int j = 0; j < saved.size(); j++) {
+            int index = acceptedIndexes.get(j);
+            results[index] = success(index, saved.get(j));
+            eventOutbox.append(saved.get(j), BookingEventType.CREATED);
+        }
+        return List.of(results);
+    }
+
+    /**
+     * Approves or rejects the bookings in one transaction under the locks of all their items.
+     * Besides approved bookings already committed, an approval must not overlap one approved
+     * earlier in the same batch.
+     */
+    @Override
+    public List<BookingBulkResultDto> approveAll(List<Long> bookingIds, Long ownerId, boolean approved) {
+        eventOutbox.checkBacklog();
+        List<Long> itemIds = bookingRepository.findItemIdsByIdIn(bookingIds);
+        bookingAdmission.lockItems(itemIds);
+        bookingTimelines.getAll(itemIds);
+        Map<Long, Booking> bookings = bookingRepository.findWithItemByIdIn(bookingIds).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+
+        List<BookingBulkResultDto> results = new ArrayList<>(bookingIds.size());
+        Map<Long, List<Booking>> approvedInBatch = new HashMap<>();
+        List<Booking> approvedBookings = new ArrayList<>();
+        for (int i = 0; i < bookingIds.size(); i++) {
+            Booking booking = bookings.get(bookingIds.get(i));
+            try {
+                if (booking == null) {
+                    throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Booking not found");
+                }
+                checkApprovable(booking, ownerId, approved);
+                List<Booking> sameItem = approvedInBatch.computeIfAbsent(booking.getItem().getId(),
+                        id -> new ArrayList<>());
+                if (approved) {
+                    for (Booking other : sameItem) {
+                        if (other.getStart().isBefore(booking.getEnd()) && booking.getStart().isBefore(other.getEnd())) {
+                            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                                    "Item is already booked from " + other.getStart() + " to " + other.getEnd());
+                        }
+                    }
+                }
+                // Appended before anything changes: a refused append leaves the booking as it was.
+                eventOutbox.append(booking, approved ? BookingEventType.APPROVED : BookingEventType.REJECTED);
+                booking.setStatus(approved ? Status.APPROVED : Status.REJECTED);
+                if (approved) {
+                    sameItem.add(booking);
+                    bookingTimelines.onApproved(booking);
+                    approvedBookings.add(booking);
+                }
+                results.add(success(i, booking));
+            } catch (ResponseStatusException e) {
+                results.add(failure(i, e));
+            }
+        }
+        dashboardUpdater.onApproved(approvedBookings);
+        return results;
+    }
+
+    private void checkValid(BookingRequestDto dto) {
+        for (ConstraintViolation<BookingRequestDto> violation : validator.validate(dto)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+    }
+
+    private void checkBookable(BookingRequestDto dto, Item item, Long userId) {
+        if (item.getOwner().getId().equals(userId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Owner can't book own item");
+        }
+        if (!item.getAvailable()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Item is unavailable");
+        }
+        if (dto.getStart().isAfter(dto.getEnd()) || dto.getStart().isEqual(dto.getEnd())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Start must be before end");
+        }
+        LocalDateTime now = LocalDateTime.now(clock);
+        if (dto.getStart().isBefore(now) || dto.getEnd().isBefore(now)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Booking dates must be in future");
+        }
+        bookingAdmission.checkNoOverlap(item.getId(), dto.getStart(), dto.getEnd());
+    }
+
+    private void checkApprovable(Booking booking, Long ownerId, boolean approved) {
         if (!booking.getItem().getOwner().getId().equals(ownerId)) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only owner can approve bookings");
         }
-
         if (booking.getStatus() != Status.WAITING) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Booking already processed");
         }
+        if (approved) {
+            bookingAdmission.checkNoOverlap(booking.getItem().getId(), booking.getStart(), booking.getEnd());
+        }
+    }
 
-        booking.setStatus(approved ? Status.APPROVED : Status.REJECTED);
-        return BookingMapper.toBookingResponseDto(bookingRepository.save(booking));
+    private static BookingBulkResultDto success(int index, Booking booking) {
+        return new BookingBulkResultDto(index, HttpStatus.OK.value(), BookingMapper.toBookingResponseDto(booking), null);
+    }
+
+    private static BookingBulkResultDto failure(int index, ResponseStatusException e) {
+        return new BookingBulkResultDto(index, e.getStatusCode().value(), null, e.getReason());
+    }
+
+    private List<BookingResponseDto> findPage(Specification<Booking> perspective, BookingState state,
+                                              BookingCursor cursor, int size) {
+        Specification<Booking> spec = perspective
+                .and(BookingSpecifications.inState(state, LocalDateTime.now(clock)))
+                .and(BookingSpecifications.after(cursor));
+        return bookingRepository.findBy(spec, q -> q.sortBy(NEWEST_FIRST).limit(size).project("item").all())
+                .stream()
+                .map(BookingMapper::toBookingResponseDto)
+                .toList();
     }
 }
@@ -0,0 +1,130 @@
+package ru.practicum.shareit.booking.timeline;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Approved bookings of one item ordered by start. Holds every booking that has not ended yet
+ * plus the latest one that already started, which is all last/next/overlap queries need.
+ * Availability queries are answered from an hourly {@link Occupancy} bitmap built from these
+ * entries on first use.
+ */
+public class BookingTimeline {
+    private final NavigableSet<TimelineEntry> entries = new ConcurrentSkipListSet<>(TimelineEntry.BY_START);
+    private final AtomicLong maxDurationSeconds = new AtomicLong();
+    private final int horizonHours;
+    private Occupancy occupancy;
+
+    BookingTimeline(Collection<TimelineEntry> approved, int horizonHours) {
+        this.horizonHours = horizonHours;
+        approved.forEach(this::put);
+    }
+
+    public TimelineEntry last(LocalDateTime now) {
+        return entries.lower(TimelineEntry.probe(now, Long.MIN_VALUE));
+    }
+
+    public TimelineEntry next(LocalDateTime now) {
+        return entries.higher(TimelineEntry.probe(now, Long.MAX_VALUE));
+    }
+
+    /**
+     * Returns an approved booking intersecting [start, end), or null. Walks back from the last
+     * booking starting before {@code end} and stops once no earlier booking can be long enough
+     * to reach {@code start}.
+     */
+    public TimelineEntry findOverlap(LocalDateTime start, LocalDateTime end) {
+        LocalDateTime horizon = start.minusSeconds(maxDurationSeconds.get());
+        for (TimelineEntry entry : entries.headSet(TimelineEntry.probe(end, Long.MIN_VALUE), false).descendingSet()) {
+            if (entry.getEnd().isAfter(start)) {
+                return entry;
+            }
+            if (!entry.getStart().isAfter(horizon)) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The parts of [from, to) not covered by an approved booking, at hour granularity: an hour
+     * partly booked counts as busy. The range is cut to the hours from now up to the horizon.
+     */
+    public synchronized List<TimeRange> freeRanges(LocalDateTime from, LocalDateTime to, LocalDateTime now) {
+        Occupancy hours = occupancy(now);
+        long end = Math.min(Occupancy.hourAfter(to), hours.end());
+        long hour = Math.max(Occupancy.hourOf(from), hours.base());
+        List<TimeRange> free = new ArrayList<>();
+        while (hour < end) {
+            long freeStart = hours.next(hour, end, false);
+            if (freeStart == end) {
+                break;
+            }
+            long freeEnd = hours.next(freeStart, end, true);
+            LocalDateTime start = Occupancy.timeOf(freeStart);
+            LocalDateTime stop = Occupancy.timeOf(freeEnd);
+            free.add(new TimeRange(start.isBefore(from) ? from : start, stop.isAfter(to) ? to : stop));
+            hour = freeEnd;
+        }
+        return free;
+    }
+
+    /**
+     * Heap used by the availability bitmap, 0 until the first availability query.
+     */
+    public synchronized long occupancyBytes() {
+        return occupancy == null ? 0 : occupancy.bytes();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    void add(TimelineEntry entry, LocalDateTime now) {
+        put(entry);
+        synchronized (this) {
+            if (occupancy != null) {
+                occupancy.mark(Occupancy.hourOf(entry.getStart()), Occupancy.hourAfter(entry.getEnd()));
+            }
+        }
+        TimelineEntry last = last(now);
+        if (last != null) {
+            entries.headSet(last, false).removeIf(e -> !e.getEnd().isAfter(now));
+        }
+    }
+
+    private void put(TimelineEntry entry) {
+        entries.add(entry);
+        long seconds = Duration.between(entry.getStart(), entry.getEnd()).toSeconds() + 1;
+        maxDurationSeconds.accumulateAndGet(seconds, Math::max);
+    }
+
+    /**
+     * Builds the bitmap, or moves it forward to the current hour and marks the bookings reaching
+     * the hours that entered it. Entries are put before the bitmap is marked, so one built
+     * concurrently with {@link #add} sees the entry either way.
+     */
+    private Occupancy occupancy(LocalDateTime now) {
+        long hour = Occupancy.hourOf(now);
+        long entered;
+        if (occupancy == null) {
+            occupancy = new Occupancy(horizonHours, hour);
+            entered = hour;
+        } else {
+            entered = occupancy.advance(hour);
+        }
+        if (entered < occupancy.end()) {
+            for (TimelineEntry entry : entries) {
+                occupancy.mark(Math.max(Occupancy.hourOf(entry.getStart()), entered),
+                        Occupancy.hourAfter(entry.getEnd()));
+            }
+        }
+        return occupancy;
+    }
+}
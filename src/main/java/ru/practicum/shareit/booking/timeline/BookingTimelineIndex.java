@@ -0,0 +1,207 @@
+package ru.practicum.shareit.booking.timeline;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.util.AfterCommit;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Lazily built per-item timelines of approved bookings. A timeline is loaded on first access and
+ * afterwards maintained from approvals, so reads never touch the booking history again.
+ * Availability bitmaps cover {@code shareit.availability.horizon} from the current hour; their
+ * memory is published as {@code shareit.availability.bitmap.bytes}. At most
+ * {@code shareit.availability.max-items} timelines are kept; an evicted one is loaded again on its
+ * next access.
+ * <p>
+ * Admission checks trust these timelines, so they are always loaded from the primary: with a
+ * replica configured, a load from a read-only transaction runs in a transaction of its own.
+ */
+@Component
+public class BookingTimelineIndex {
+
+    private final BookingRepository bookingRepository;
+    private final TransactionTemplate primaryReads;
+    private final boolean replicated;
+    private final Duration horizon;
+    private final int horizonHours;
+
+    private final Cache<Long, BookingTimeline> timelines;
+    private final AtomicLong modifications = new AtomicLong();
+
+    public BookingTimelineIndex(BookingRepository bookingRepository,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${shareit.datasource.replica.jdbc-url:}") String replicaUrl,
+                                @Value("${shareit.availability.horizon:180d}") Duration horizon,
+                                @Value("${shareit.availability.max-items:100000}") long maximumSize,
+                                MeterRegistry meterRegistry) {
+        this.bookingRepository = bookingRepository;
+        this.primaryReads = new TransactionTemplate(transactionManager);
+        this.primaryReads.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.replicated = !replicaUrl.isBlank();
+        this.horizon = horizon;
+        this.horizonHours = Math.toIntExact(horizon.toHours());
+        this.timelines = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, timelines, "booking-timelines");
+        Gauge.builder("shareit.availability.bitmaps", this, index -> index.timelines.asMap().values().stream()
+                        .filter(timeline -> timeline.occupancyBytes() > 0)
+                        .count())
+                .register(meterRegistry);
+        Gauge.builder("shareit.availability.bitmap.bytes", this, index -> index.timelines.asMap().values().stream()
+                        .mapToLong(BookingTimeline::occupancyBytes)
+                        .sum())
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        long itemBytes = new Occupancy(horizonHours, 0).bytes();
+        Gauge.builder("shareit.availability.bitmap.item.bytes", () -> itemBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * How far ahead availability is known.
+     */
+    public Duration getHorizon() {
+        return horizon;
+    }
+
+    public BookingTimeline get(Long itemId) {
+        return getAll(List.of(itemId)).get(itemId);
+    }
+
+    public Map<Long, BookingTimeline> getAll(Collection<Long> itemIds) {
+        Map<Long, BookingTimeline> result = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long itemId : itemIds) {
+            BookingTimeline timeline = timelines.getIfPresent(itemId);
+            if (timeline != null) {
+                result.put(itemId, timeline);
+            } else {
+                missing.add(itemId);
+            }
+        }
+        if (!missing.isEmpty()) {
+            result.putAll(load(missing));
+        }
+        return result;
+    }
+
+    /**
+     * The timelines of those items that are already in memory; never loads.
+     */
+    public Map<Long, BookingTimeline> getLoaded(Collection<Long> itemIds) {
+        Map<Long, BookingTimeline> result = new HashMap<>();
+        for (Long itemId : itemIds) {
+            BookingTimeline timeline = timelines.getIfPresent(itemId);
+            if (timeline != null) {
+                result.put(itemId, timeline);
+            }
+        }
+        return result;
+    }
+
+    public void onApproved(Booking booking) {
+        TimelineEntry entry = new TimelineEntry(booking.getId(), booking.getItem().getId(),
+                booking.getBooker().getId(), booking.getStart(), booking.getEnd());
+        AfterCommit.run(() -> {
+            modifications.incrementAndGet();
+            BookingTimeline timeline = timelines.getIfPresent(entry.getItemId());
+            if (timeline != null) {
+                timeline.add(entry, LocalDateTime.now());
+            }
+        });
+    }
+
+    private Map<Long, BookingTimeline> load(List<Long> itemIds) {
+        long stamp = modifications.get();
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            // Already on the primary, but may see this transaction's own writes: cached once they commit,
+            // and until then kept for the rest of the transaction.
+            Map<Long, BookingTimeline> uncommitted = uncommitted();
+            Map<Long, BookingTimeline> result = new HashMap<>();
+            List<Long> missing = new ArrayList<>();
+            for (Long itemId : itemIds) {
+                BookingTimeline timeline = uncommitted.get(itemId);
+                if (timeline != null) {
+                    result.put(itemId, timeline);
+                } else {
+                    missing.add(itemId);
+                }
+            }
+            if (!missing.isEmpty()) {
+                Map<Long, BookingTimeline> loaded = read(missing);
+                uncommitted.putAll(loaded);
+                result.putAll(loaded);
+                AfterCommit.run(() -> cache(loaded, stamp));
+            }
+            return result;
+        }
+        Map<Long, BookingTimeline> loaded = replicated ? primaryReads.execute(status -> read(itemIds)) : read(itemIds);
+        cache(loaded, stamp);
+        return loaded;
+    }
+
+    /**
+     * Timelines read by the current read-write transaction, dropped when it completes.
+     */
+    @SuppressWarnings("unchecked")
+    private Map<Long, BookingTimeline> uncommitted() {
+        Map<Long, BookingTimeline> loaded =
+                (Map<Long, BookingTimeline>) TransactionSynchronizationManager.getResource(this);
+        if (loaded == null) {
+            loaded = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(this, loaded);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(BookingTimelineIndex.this);
+                }
+            });
+        }
+        return loaded;
+    }
+
+    private Map<Long, BookingTimeline> read(List<Long> itemIds) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, List<TimelineEntry>> entries = new HashMap<>();
+        bookingRepository.findTimelineEntries(itemIds, Status.APPROVED, now)
+                .forEach(e -> entries.computeIfAbsent(e.getItemId(), id -> new ArrayList<>()).add(e));
+        bookingRepository.findLastTimelineEntries(itemIds, Status.APPROVED, now)
+                .forEach(e -> entries.computeIfAbsent(e.getItemId(), id -> new ArrayList<>()).add(e));
+
+        return itemIds.stream().collect(Collectors.toMap(id -> id,
+                id -> new BookingTimeline(entries.getOrDefault(id, List.of()), horizonHours)));
+    }
+
+    private void cache(Map<Long, BookingTimeline> loaded, long stamp) {
+        // An approval committed while loading may be missing from the snapshot, so keep it uncached.
+        if (modifications.get() == stamp) {
+            loaded.forEach(timelines.asMap()::putIfAbsent);
+        }
+    }
+}
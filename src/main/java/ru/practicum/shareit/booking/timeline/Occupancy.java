@@ -0,0 +1,109 @@
+package ru.practicum.shareit.booking.timeline;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * One bit per hour of one item, set while an approved booking covers any part of the hour. Holds
+ * the hours from {@code base} up to the horizon in a ring of words, hour {@code h} in slot
+ * {@code h mod capacity}, so moving the window forward reuses the slots of past hours in place.
+ * Not thread-safe; {@link BookingTimeline} guards it.
+ */
+final class Occupancy {
+    private final long[] words;
+    private final int capacity;
+    private long base;
+
+    Occupancy(int hours, long base) {
+        this.words = new long[(hours + 63) >>> 6];
+        this.capacity = words.length << 6;
+        this.base = base;
+    }
+
+    static long hourOf(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), 3600);
+    }
+
+    static long hourAfter(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC) + 3599, 3600);
+    }
+
+    static LocalDateTime timeOf(long hour) {
+        return LocalDateTime.ofEpochSecond(hour * 3600, 0, ZoneOffset.UTC);
+    }
+
+    long base() {
+        return base;
+    }
+
+    long end() {
+        return base + capacity;
+    }
+
+    /**
+     * Moves the window to start at {@code hour}. Returns the first hour that entered the window,
+     * whose bookings the caller must mark, or {@link #end()} if none did.
+     */
+    long advance(long hour) {
+        if (hour <= base) {
+            return end();
+        }
+        long oldEnd = end();
+        if (hour - base >= capacity) {
+            Arrays.fill(words, 0);
+        } else {
+            apply(base, hour, false);
+        }
+        base = hour;
+        return Math.max(oldEnd, hour);
+    }
+
+    void mark(long fromHour, long toHour) {
+        apply(Math.max(fromHour, base), Math.min(toHour, end()), true);
+    }
+
+    /**
+     * The first hour in [from, to) that is busy (or free), or {@code to} if there is none.
+     */
+    long next(long from, long to, boolean busy) {
+        long hour = from;
+        while (hour < to) {
+            int slot = slot(hour);
+            long word = busy ? words[slot >>> 6] : ~words[slot >>> 6];
+            word >>>= slot & 63;
+            if (word != 0) {
+                return Math.min(hour + Long.numberOfTrailingZeros(word), to);
+            }
+            hour += 64 - (slot & 63);
+        }
+        return to;
+    }
+
+    /**
+     * Approximate heap size: the object and its word array.
+     */
+    long bytes() {
+        return 32 + 16 + 8L * words.length;
+    }
+
+    private void apply(long fromHour, long toHour, boolean set) {
+        long hour = fromHour;
+        while (hour < toHour) {
+            int slot = slot(hour);
+            int offset = slot & 63;
+            int count = (int) Math.min(64 - offset, toHour - hour);
+            long mask = count == 64 ? -1L : ((1L << count) - 1) << offset;
+            if (set) {
+                words[slot >>> 6] |= mask;
+            } else {
+                words[slot >>> 6] &= ~mask;
+            }
+            hour += count;
+        }
+    }
+
+    private int slot(long hour) {
+        return (int) Math.floorMod(hour, (long) capacity);
+    }
+}
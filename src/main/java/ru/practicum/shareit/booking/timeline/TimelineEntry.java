@@ -0,0 +1,22 @@
+package ru.practicum.shareit.booking.timeline;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+@Value
+public class TimelineEntry {
+    static final Comparator<TimelineEntry> BY_START = Comparator.comparing(TimelineEntry::getStart)
+            .thenComparing(TimelineEntry::getId);
+
+    Long id;
+    Long itemId;
+    Long bookerId;
+    LocalDateTime start;
+    LocalDateTime end;
+
+    static TimelineEntry probe(LocalDateTime start, long id) {
+        return new TimelineEntry(id, null, null, start, start);
+    }
+}
@@ -0,0 +1,75 @@
+package ru.practicum.shareit.config;
+
+import org.hibernate.Interceptor;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.type.Type;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Counts the SQL statements prepared and the entities loaded on the current thread between
+ * {@link #begin()} and {@link #end()}. Registers itself with Hibernate as statement inspector and
+ * interceptor; outside a counted section both callbacks are a thread-local read.
+ */
+@Component
+public class PersistenceWorkCounter implements StatementInspector, Interceptor, HibernatePropertiesCustomizer {
+
+    private final ThreadLocal<Counts> current = new ThreadLocal<>();
+
+    public Counts begin() {
+        Counts counts = new Counts();
+        current.set(counts);
+        return counts;
+    }
+
+    public void end() {
+        current.remove();
+    }
+
+    /**
+     * The counts of the section running on the current thread, or {@code null} outside one.
+     */
+    public Counts current() {
+        return current.get();
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Counts counts = current.get();
+        if (counts != null) {
+            counts.statements++;
+        }
+        return sql;
+    }
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        Counts counts = current.get();
+        if (counts != null) {
+            counts.entities++;
+        }
+        return false;
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+        hibernateProperties.put(AvailableSettings.INTERCEPTOR, this);
+    }
+
+    public static final class Counts {
+        private long statements;
+        private long entities;
+
+        public long getStatements() {
+            return statements;
+        }
+
+        public long getEntities() {
+            return entities;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package ru.practicum.shareit.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Routes read-only transactions to a replica pool when {@code shareit.datasource.replica.jdbc-url}
+ * is set. The application {@link DataSource} hands out lazy connections that pick the replica
+ * or the primary pool on first use, once the transaction has marked them read-only; a replica
+ * lagging behind {@link ReplicaLagMonitor the bound} is skipped.
+ */
+@Configuration
+@ConditionalOnProperty("shareit.datasource.replica.jdbc-url")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("shareit.datasource.replica")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource replica = new HikariDataSource();
+        replica.setPoolName("replica");
+        return replica;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replica,
+                                               @Value("${shareit.datasource.replica.lag-query}") String lagQuery,
+                                               @Value("${shareit.datasource.replica.max-lag:5s}") Duration maxLag,
+                                               MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(replica, lagQuery, maxLag, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 ReplicaLagMonitor monitor) {
+        LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(primary);
+        routing.setReadOnlyDataSource(new ReplicaOrPrimary(replica, primary, monitor));
+        return routing;
+    }
+
+    private static class ReplicaOrPrimary extends DelegatingDataSource {
+        private final DataSource primary;
+        private final ReplicaLagMonitor monitor;
+
+        ReplicaOrPrimary(DataSource replica, DataSource primary, ReplicaLagMonitor monitor) {
+            super(replica);
+            this.primary = primary;
+            this.monitor = monitor;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return monitor.isUsable() ? obtainTargetDataSource().getConnection() : primary.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return monitor.isUsable()
+                    ? obtainTargetDataSource().getConnection(username, password)
+                    : primary.getConnection(username, password);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records per request how many SQL statements it issued and how many entities it loaded, as
+ * {@code shareit.request.statements} and {@code shareit.request.entities} tagged like
+ * {@code http.server.requests}. Work done on other threads, e.g. by streaming bodies, is not counted.
+ * The meters are looked up once per method and route, not on every request.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class RequestPersistenceMetricsFilter extends OncePerRequestFilter {
+
+    private final PersistenceWorkCounter counter;
+    private final Meter.MeterProvider<DistributionSummary> statements;
+    private final Meter.MeterProvider<DistributionSummary> entities;
+    private final Map<String, RouteMeters> routes = new ConcurrentHashMap<>();
+
+    public RequestPersistenceMetricsFilter(PersistenceWorkCounter counter, MeterRegistry meterRegistry) {
+        this.counter = counter;
+        this.statements = DistributionSummary.builder("shareit.request.statements").withRegistry(meterRegistry);
+        this.entities = DistributionSummary.builder("shareit.request.entities").withRegistry(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        PersistenceWorkCounter.Counts counts = counter.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            counter.end();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+            RouteMeters meters = routes.computeIfAbsent(request.getMethod() + " " + uri, key -> {
+                Tags tags = Tags.of("method", request.getMethod(), "uri", uri);
+                return new RouteMeters(statements.withTags(tags), entities.withTags(tags));
+            });
+            meters.getStatements().record(counts.getStatements());
+            meters.getEntities().record(counts.getEntities());
+        }
+    }
+
+    @Value
+    private static class RouteMeters {
+        DistributionSummary statements;
+        DistributionSummary entities;
+    }
+}
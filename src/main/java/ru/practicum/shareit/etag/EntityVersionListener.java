@@ -0,0 +1,31 @@
+package ru.practicum.shareit.etag;
+
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * Hibernate creates a new listener instance per entity class, so the versions live in the
+ * {@link EntityVersions} bean it is given.
+ */
+public class EntityVersionListener {
+
+    private final EntityVersions versions;
+
+    public EntityVersionListener(EntityVersions versions) {
+        this.versions = versions;
+    }
+
+    @PostLoad
+    @PostPersist
+    @PostUpdate
+    void record(Object entity) {
+        versions.record(entity);
+    }
+
+    @PostRemove
+    void remove(Object entity) {
+        versions.remove(entity);
+    }
+}
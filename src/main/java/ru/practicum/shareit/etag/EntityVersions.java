@@ -0,0 +1,82 @@
+package ru.practicum.shareit.etag;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+/**
+ * Latest known {@code @Version} of items, users and bookings, recorded by {@link EntityVersionListener}
+ * whenever Hibernate loads, inserts or updates one, so conditional GETs can be answered without
+ * loading the entity. Versions only move forward: a read of an older snapshot never lowers them,
+ * and an update rolled back leaves the map ahead, which costs a full load but never a wrong 304.
+ * Writes that bypass Hibernate, or go through another instance, are not seen.
+ */
+@Component
+public class EntityVersions {
+
+    private final Cache<Long, Long> users;
+    private final Cache<Long, ItemStamp> items;
+    private final Cache<Long, BookingStamp> bookings;
+
+    public EntityVersions(@Value("${shareit.etag.versions-size:100000}") long maximumSize) {
+        this.users = Caffeine.newBuilder().maximumSize(maximumSize).build();
+        this.items = Caffeine.newBuilder().maximumSize(maximumSize).build();
+        this.bookings = Caffeine.newBuilder().maximumSize(maximumSize).build();
+    }
+
+    public Long user(Long id) {
+        return users.getIfPresent(id);
+    }
+
+    public ItemStamp item(Long id) {
+        return items.getIfPresent(id);
+    }
+
+    public BookingStamp booking(Long id) {
+        return bookings.getIfPresent(id);
+    }
+
+    void record(Object entity) {
+        if (entity instanceof User user) {
+            users.asMap().merge(user.getId(), user.getVersion(), Math::max);
+        } else if (entity instanceof Item item) {
+            items.asMap().merge(item.getId(), new ItemStamp(item.getVersion(), item.getOwner().getId()),
+                    (known, loaded) -> known.getVersion() >= loaded.getVersion() ? known : loaded);
+        } else if (entity instanceof Booking booking) {
+            bookings.asMap().merge(booking.getId(),
+                    new BookingStamp(booking.getVersion(), booking.getItem().getId(), booking.getBooker().getId()),
+                    (known, loaded) -> known.getVersion() >= loaded.getVersion() ? known : loaded);
+        }
+    }
+
+    void remove(Object entity) {
+        if (entity instanceof User user) {
+            users.invalidate(user.getId());
+        } else if (entity instanceof Item item) {
+            items.invalidate(item.getId());
+        } else if (entity instanceof Booking booking) {
+            bookings.invalidate(booking.getId());
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static final class ItemStamp {
+        private final long version;
+        private final Long ownerId;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static final class BookingStamp {
+        private final long version;
+        private final Long itemId;
+        private final Long bookerId;
+    }
+}
@@ -0,0 +1,143 @@
+package ru.practicum.shareit.etag;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
+import ru.practicum.shareit.booking.timeline.BookingTimeline;
+import ru.practicum.shareit.booking.timeline.BookingTimelineIndex;
+import ru.practicum.shareit.booking.timeline.TimelineEntry;
+import ru.practicum.shareit.item.comments.CommentSummaryCache;
+import ru.practicum.shareit.item.dto.ItemWithBookingsDto;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * ETags of the item, user and booking resources. Each is derived from everything its body shows:
+ * an item's from its version, comment count and, for the owner, last and next booking; a booking's
+ * from its own and its item's version. The {@code known*} methods compute them from memory and
+ * return {@code null} when something is not known there, or the requester could not read the
+ * resource; the others compute them from a loaded response.
+ */
+@Component
+@RequiredArgsConstructor
+public class ResourceETags {
+
+    private final EntityVersions versions;
+    private final CommentSummaryCache commentSummaries;
+    private final BookingTimelineIndex bookingTimelines;
+    private final Clock clock;
+
+    public String knownUser(Long userId) {
+        Long version = versions.user(userId);
+        return version == null ? null : quote(version);
+    }
+
+    public String knownItem(Long itemId, Long requesterId) {
+        EntityVersions.ItemStamp item = versions.item(itemId);
+        if (item == null) {
+            return null;
+        }
+        Long lastId = null;
+        Long nextId = null;
+        if (item.getOwnerId().equals(requesterId)) {
+            BookingTimeline timeline = bookingTimelines.get(itemId);
+            LocalDateTime now = LocalDateTime.now(clock);
+            lastId = id(timeline.last(now));
+            nextId = id(timeline.next(now));
+        }
+        return quote(item.getVersion(), commentSummaries.get(itemId).getCount(), lastId, nextId);
+    }
+
+    public String knownBooking(Long bookingId, Long requesterId) {
+        EntityVersions.BookingStamp booking = versions.booking(bookingId);
+        if (booking == null) {
+            return null;
+        }
+        EntityVersions.ItemStamp item = versions.item(booking.getItemId());
+        if (item == null || !requesterId.equals(booking.getBookerId()) && !requesterId.equals(item.getOwnerId())) {
+            return null;
+        }
+        return quote(booking.getVersion(), item.getVersion());
+    }
+
+    public static String of(UserDto user) {
+        return quote(user.getVersion());
+    }
+
+    public static String of(ItemWithBookingsDto item) {
+        return quote(item.getVersion(), item.getCommentCount(), id(item.getLastBooking()), id(item.getNextBooking()));
+    }
+
+    public static String of(BookingResponseDto booking) {
+        return quote(booking.getVersion(), booking.getItem().getVersion());
+    }
+
+    /**
+     * Whether an {@code If-None-Match} header lists the ETag, compared weakly as RFC 9110 asks.
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || (tag.startsWith("W/") ? tag.substring(2) : tag).equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The versions an {@code If-Match} header accepts: the first components of the ETags it lists,
+     * or {@code null} when it is absent or {@code *}, which any existing resource satisfies. Weak
+     * ETags never match, as RFC 9110 asks for a strong comparison.
+     */
+    public static Set<Long> versions(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        Set<Long> versions = new HashSet<>();
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.isEmpty() || tag.startsWith("W/")) {
+                continue;
+            }
+            if (tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+                throw new IllegalArgumentException("Invalid If-Match: " + ifMatch);
+            }
+            String value = tag.substring(1, tag.length() - 1);
+            int dot = value.indexOf('.');
+            try {
+                versions.add(Long.parseLong(dot < 0 ? value : value.substring(0, dot)));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid If-Match: " + ifMatch);
+            }
+        }
+        return versions;
+    }
+
+    private static Long id(TimelineEntry entry) {
+        return entry == null ? null : entry.getId();
+    }
+
+    private static Long id(BookingShortDto booking) {
+        return booking == null ? null : booking.getId();
+    }
+
+    private static String quote(Object... parts) {
+        StringBuilder etag = new StringBuilder("\"");
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                etag.append('.');
+            }
+            etag.append(parts[i] == null ? "-" : parts[i]);
+        }
+        return etag.append('"').toString();
+    }
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.item.comments;
+
+import lombok.Value;
+import ru.practicum.shareit.item.dto.CommentResponseDto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The number of comments on an item and the latest of them, newest first.
+ */
+@Value
+public class CommentSummary {
+    long count;
+    List<CommentResponseDto> latest;
+
+    public CommentSummary plus(CommentResponseDto comment, int limit) {
+        List<CommentResponseDto> comments = new ArrayList<>(limit);
+        comments.add(comment);
+        for (int i = 0; i < latest.size() && comments.size() < limit; i++) {
+            comments.add(latest.get(i));
+        }
+        return new CommentSummary(count + 1, List.copyOf(comments));
+    }
+}
@@ -0,0 +1,82 @@
+package ru.practicum.shareit.item.comments;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.mapper.CommentMapper;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.util.AfterCommit;
+
+import java.time.Duration;
+
+/**
+ * Per-item comment summaries: the count and the latest {@code shareit.comments.latest} comments.
+ * A summary is loaded on first access with two indexed queries, so item details never read an
+ * item's whole comment history. A new comment drops its item's summary once committed; a load
+ * still running for that item finishes first and is dropped with it. Summaries also expire after
+ * {@code shareit.comments.summary-ttl}.
+ * <p>
+ * Summaries are loaded from the primary: a lagging replica could otherwise cache a summary from
+ * before the comment that dropped it, for the whole TTL.
+ */
+@Component
+public class CommentSummaryCache {
+
+    private final CommentRepository commentRepository;
+    private final TransactionTemplate primaryReads;
+    private final boolean replicated;
+    private final int latestLimit;
+    private final Cache<Long, CommentSummary> summaries;
+
+    public CommentSummaryCache(CommentRepository commentRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${shareit.datasource.replica.jdbc-url:}") String replicaUrl,
+                               @Value("${shareit.comments.latest:10}") int latestLimit,
+                               @Value("${shareit.comments.summary-cache-size:100000}") long maximumSize,
+                               @Value("${shareit.comments.summary-ttl:10m}") Duration ttl,
+                               MeterRegistry meterRegistry) {
+        this.commentRepository = commentRepository;
+        this.primaryReads = new TransactionTemplate(transactionManager);
+        this.primaryReads.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.replicated = !replicaUrl.isBlank();
+        this.latestLimit = latestLimit;
+        this.summaries = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, summaries, "comment-summaries");
+    }
+
+    public int getLatestLimit() {
+        return latestLimit;
+    }
+
+    public CommentSummary get(Long itemId) {
+        return summaries.get(itemId, this::load);
+    }
+
+    public void onCommented(Comment comment) {
+        Long itemId = comment.getItem().getId();
+        AfterCommit.run(() -> summaries.invalidate(itemId));
+    }
+
+    private CommentSummary load(Long itemId) {
+        return replicated ? primaryReads.execute(status -> read(itemId)) : read(itemId);
+    }
+
+    private CommentSummary read(Long itemId) {
+        return new CommentSummary(commentRepository.countByItemId(itemId),
+                commentRepository.findPage(itemId, Limit.of(latestLimit)).stream()
+                        .map(CommentMapper::toCommentResponseDto)
+                        .toList());
+    }
+}
@@ -1,14 +1,37 @@
 package ru.practicum.shareit.item.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.timeline.TimeRange;
+import ru.practicum.shareit.etag.ResourceETags;
 import ru.practicum.shareit.item.dto.*;
+import ru.practicum.shareit.item.importer.ItemImporter;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.util.NdjsonWriter;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 
+import static ru.practicum.shareit.util.Constants.DEFAULT_FROM;
+import static ru.practicum.shareit.util.Constants.DEFAULT_SIZE;
+import static ru.practicum.shareit.util.Constants.MAX_BULK_SIZE;
+import static ru.practicum.shareit.util.Constants.MAX_PAGE_SIZE;
+import static ru.practicum.shareit.util.Constants.NEXT_CURSOR_HEADER;
 import static ru.practicum.shareit.util.Constants.SHARER_ID_HEADER;
 import static ru.practicum.shareit.util.Constants.ITEM_ID_PATH;
 
@@ -19,6 +42,9 @@ import static ru.practicum.shareit.util.Constants.ITEM_ID_PATH;
 public class ItemController {
 
     private final ItemService itemService;
+    private final ObjectMapper objectMapper;
+    private final ItemImporter itemImporter;
+    private final ResourceETags etags;
 
     @PostMapping
     public ItemDto create(@Valid @RequestBody ItemDto itemDto,
@@ -26,19 +52,79 @@ public class ItemController {
         return itemService.create(itemDto, userId);
     }
 
+    /**
+     * Imports items from a JSON array or NDJSON body, read as it arrives.
+     */
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ItemImportResultDto importItems(InputStream body,
+                                           @RequestHeader(SHARER_ID_HEADER) Long userId) throws IOException {
+        return itemImporter.importItems(userId, body);
+    }
+
     @PatchMapping(ITEM_ID_PATH)
     public ItemDto update(@PathVariable Long itemId,
                                 @RequestBody ItemUpdateDto itemDto,
-                                @RequestHeader(value = SHARER_ID_HEADER, required = false) Long userId) {
+                                @RequestHeader(value = SHARER_ID_HEADER, required = false) Long userId,
+                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        itemDto.setExpectedVersions(ResourceETags.versions(ifMatch));
         return itemService.update(itemId, itemDto, userId);
     }
 
+    /**
+     * Answers {@code If-None-Match} with 304 from the known version when it can, before loading the item.
+     */
     @GetMapping(ITEM_ID_PATH)
-    public ItemWithBookingsDto getById(
+    public ResponseEntity<ItemWithBookingsDto> getById(
             @RequestHeader(SHARER_ID_HEADER) Long userId,
-            @PathVariable Long itemId
+            @PathVariable Long itemId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
     ) {
-        return itemService.findById(itemId, userId);
+        if (ifNoneMatch != null) {
+            String known = etags.knownItem(itemId, userId);
+            if (ResourceETags.matches(ifNoneMatch, known)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(known).build();
+            }
+        }
+        ItemWithBookingsDto item = itemService.findById(itemId, userId);
+        // A match against the loaded version is answered with 304 by Spring as well.
+        return ResponseEntity.ok().eTag(ResourceETags.of(item)).body(item);
+    }
+
+    /**
+     * Newest first; a full page carries the cursor of its last comment.
+     */
+    @GetMapping(ITEM_ID_PATH + "/comments")
+    public ResponseEntity<List<CommentResponseDto>> getComments(
+            @PathVariable Long itemId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_SIZE) @Positive @Max(MAX_PAGE_SIZE) int size) {
+        List<CommentResponseDto> comments = itemService.findComments(itemId, CommentCursor.decode(cursor), size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (comments.size() == size) {
+            response.header(NEXT_CURSOR_HEADER, CommentCursor.after(comments.get(comments.size() - 1)).encode());
+        }
+        return response.body(comments);
+    }
+
+    /**
+     * Free time of the item in [from, to), by default the next seven days, at hour granularity.
+     */
+    @GetMapping(ITEM_ID_PATH + "/availability")
+    public ItemAvailabilityDto getAvailability(
+            @PathVariable Long itemId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        LocalDateTime start = from != null ? from : LocalDateTime.now();
+        return itemService.findAvailability(itemId, start, to != null ? to : start.plusDays(7));
+    }
+
+    @GetMapping("/availability")
+    public List<ItemAvailabilityDto> getAvailability(
+            @RequestParam @Size(max = MAX_BULK_SIZE) List<Long> ids,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        LocalDateTime start = from != null ? from : LocalDateTime.now();
+        return itemService.findAvailability(ids, start, to != null ? to : start.plusDays(7));
     }
 
     @PostMapping(ITEM_ID_PATH + "/comment")
@@ -53,8 +139,34 @@ public class ItemController {
         return itemService.findAllByOwner(userId);
     }
 
-    @GetMapping("/search")
-    public List<ItemDto> search(@RequestParam String text) {
-        return itemService.search(text);
+    /**
+     * With {@code start} and {@code end}, only items free for the whole window are returned.
+     */
+    @GetMapping(value = "/search", produces = MediaType.APPLICATION_JSON_VALUE)
+    public List<ItemDto> search(
+            @RequestParam String text,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = DEFAULT_FROM) @PositiveOrZero int from,
+            @RequestParam(defaultValue = DEFAULT_SIZE) @Positive @Max(MAX_PAGE_SIZE) int size) {
+        return itemService.search(text, itemService.searchWindow(start, end), after, from, size);
+    }
+
+    @GetMapping(value = "/search", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> searchStream(
+            @RequestParam String text,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @RequestParam(required = false) Long after) {
+        TimeRange window = itemService.searchWindow(start, end);
+        StreamingResponseBody body = out -> {
+            try (NdjsonWriter writer = new NdjsonWriter(objectMapper, out)) {
+                itemService.streamSearch(text, window, after, writer);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 }
@@ -0,0 +1,191 @@
+package ru.practicum.shareit.item.dashboard;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.admission.BookingAdmission;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.timeline.BookingTimeline;
+import ru.practicum.shareit.booking.timeline.BookingTimelineIndex;
+import ru.practicum.shareit.booking.timeline.TimelineEntry;
+import ru.practicum.shareit.item.comments.CommentSummary;
+import ru.practicum.shareit.item.comments.CommentSummaryCache;
+import ru.practicum.shareit.item.dto.CommentResponseDto;
+import ru.practicum.shareit.item.mapper.CommentMapper;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemDashboard;
+import ru.practicum.shareit.item.repository.ItemDashboardRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains {@link ItemDashboard} rows from item, comment and approval writes, in the writer's
+ * transaction. Last/next booking changes with the clock as well: a scheduler rolls rows whose
+ * next booking has started forward from the booking timelines.
+ */
+@Component
+@RequiredArgsConstructor
+public class ItemDashboardUpdater {
+
+    static final int BATCH_SIZE = 100;
+
+    private final ItemDashboardRepository dashboardRepository;
+    private final ItemRepository itemRepository;
+    private final CommentSummaryCache commentSummaries;
+    private final BookingTimelineIndex bookingTimelines;
+    private final BookingAdmission bookingAdmission;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+
+    public void onCreated(Collection<Item> items) {
+        items.forEach(item -> entityManager.persist(newRow(item)));
+    }
+
+    public void onUpdated(Item item) {
+        dashboardRepository.findById(item.getId()).ifPresent(row -> copyItem(item, row));
+    }
+
+    /**
+     * Rows keep the comment count and the latest comments only, like the item details.
+     */
+    public void onCommented(Comment comment) {
+        CommentResponseDto dto = CommentMapper.toCommentResponseDto(comment);
+        dashboardRepository.findForUpdateByItemIdIn(List.of(comment.getItem().getId())).forEach(row -> {
+            CommentSummary summary = new CommentSummary(row.getCommentCount(), row.getComments())
+                    .plus(dto, commentSummaries.getLatestLimit());
+            row.setComments(summary.getLatest());
+            row.setCommentCount((int) summary.getCount());
+        });
+    }
+
+    /**
+     * Must be called under the admission locks of the bookings' items, like the approval itself.
+     */
+    public void onApproved(Collection<Booking> bookings) {
+        if (bookings.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now(clock);
+        Map<Long, ItemDashboard> rows = dashboardRepository.findForUpdateByItemIdIn(bookings.stream()
+                        .map(booking -> booking.getItem().getId())
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(ItemDashboard::getItemId, Function.identity()));
+        for (Booking booking : bookings) {
+            ItemDashboard row = rows.get(booking.getItem().getId());
+            if (row == null) {
+                continue;
+            }
+            TimelineEntry entry = new TimelineEntry(booking.getId(), booking.getItem().getId(),
+                    booking.getBooker().getId(), booking.getStart(), booking.getEnd());
+            // A stale row keeps its next booking until rolled forward, which re-reads the timeline anyway.
+            if (entry.getStart().isAfter(now)) {
+                if (row.getNextStart() == null || entry.getStart().isBefore(row.getNextStart())) {
+                    setNext(row, entry);
+                }
+            } else if (entry.getStart().isBefore(now)) {
+                if (row.getLastStart() == null || entry.getStart().isAfter(row.getLastStart())) {
+                    setLast(row, entry);
+                }
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.dashboard.roll-interval-ms:60000}")
+    public void rollForward() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        Integer rolled;
+        do {
+            rolled = transactionTemplate.execute(status -> rollForward(now));
+        } while (rolled != null && rolled == BATCH_SIZE);
+    }
+
+    /**
+     * Builds the rows of items that have none, e.g. created before the dashboard existed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        Integer built;
+        do {
+            built = transactionTemplate.execute(status -> backfillBatch());
+        } while (built != null && built == BATCH_SIZE);
+    }
+
+    private int rollForward(LocalDateTime now) {
+        List<Long> itemIds = dashboardRepository.findDueItemIds(now, PageRequest.of(0, BATCH_SIZE));
+        if (itemIds.isEmpty()) {
+            return 0;
+        }
+        // Taken after the approvals in flight have reached the timelines.
+        bookingAdmission.lockItems(itemIds);
+        Map<Long, BookingTimeline> timelines = bookingTimelines.getAll(itemIds);
+        for (ItemDashboard row : dashboardRepository.findAllById(itemIds)) {
+            BookingTimeline timeline = timelines.get(row.getItemId());
+            setLast(row, timeline.last(now));
+            setNext(row, timeline.next(now));
+        }
+        return itemIds.size();
+    }
+
+    private int backfillBatch() {
+        List<Long> itemIds = dashboardRepository.findItemIdsWithoutDashboard(PageRequest.of(0, BATCH_SIZE));
+        if (itemIds.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now(clock);
+        Map<Long, BookingTimeline> timelines = bookingTimelines.getAll(itemIds);
+        for (Item item : itemRepository.findAllById(itemIds)) {
+            ItemDashboard row = newRow(item);
+            BookingTimeline timeline = timelines.get(item.getId());
+            setLast(row, timeline.last(now));
+            setNext(row, timeline.next(now));
+            CommentSummary comments = commentSummaries.get(item.getId());
+            row.setComments(comments.getLatest());
+            row.setCommentCount((int) comments.getCount());
+            entityManager.persist(row);
+        }
+        return itemIds.size();
+    }
+
+    private static ItemDashboard newRow(Item item) {
+        ItemDashboard row = new ItemDashboard();
+        row.setItemId(item.getId());
+        row.setOwnerId(item.getOwner().getId());
+        copyItem(item, row);
+        return row;
+    }
+
+    private static void copyItem(Item item, ItemDashboard row) {
+        row.setName(item.getName());
+        row.setDescription(item.getDescription());
+        row.setAvailable(item.getAvailable());
+    }
+
+    private static void setLast(ItemDashboard row, TimelineEntry entry) {
+        row.setLastBookingId(entry == null ? null : entry.getId());
+        row.setLastBookerId(entry == null ? null : entry.getBookerId());
+        row.setLastStart(entry == null ? null : entry.getStart());
+        row.setLastEnd(entry == null ? null : entry.getEnd());
+    }
+
+    private static void setNext(ItemDashboard row, TimelineEntry entry) {
+        row.setNextBookingId(entry == null ? null : entry.getId());
+        row.setNextBookerId(entry == null ? null : entry.getBookerId());
+        row.setNextStart(entry == null ? null : entry.getStart());
+        row.setNextEnd(entry == null ? null : entry.getEnd());
+    }
+}
@@ -0,0 +1,52 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ItemImportResultDto {
+    public static final int MAX_ERRORS = 100;
+
+    int imported;
+    int failed;
+    /**
+     * The failed rows with the lowest indexes, at most {@link #MAX_ERRORS}; the other failures are
+     * only counted in {@code omittedErrors}.
+     */
+    List<RowError> errors = new ArrayList<>();
+    int omittedErrors;
+
+    public void addError(int index, String error) {
+        failed++;
+        if (errors.size() < MAX_ERRORS) {
+            errors.add(new RowError(index, error));
+            return;
+        }
+        omittedErrors++;
+        int highest = 0;
+        for (int i = 1; i < errors.size(); i++) {
+            if (errors.get(i).getIndex() > errors.get(highest).getIndex()) {
+                highest = i;
+            }
+        }
+        if (index < errors.get(highest).getIndex()) {
+            errors.set(highest, new RowError(index, error));
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class RowError {
+        int index;
+        String error;
+    }
+}
@@ -1,13 +1,23 @@
 package ru.practicum.shareit.item.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AccessLevel;
 import lombok.Data;
 import lombok.experimental.FieldDefaults;
 
+import java.util.Set;
+
 @Data
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class ItemUpdateDto {
     String name;
     String description;
     Boolean available;
+
+    /**
+     * The versions the client accepts, from {@code If-Match}; the update fails with 412 if the item
+     * has none of them. {@code null} accepts any.
+     */
+    @JsonIgnore
+    Set<Long> expectedVersions;
 }
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AccessLevel;
 import lombok.Data;
 import lombok.experimental.FieldDefaults;
@@ -16,5 +17,9 @@ public class ItemWithBookingsDto {
     Boolean available;
     BookingShortDto lastBooking;
     BookingShortDto nextBooking;
+    Long commentCount;
     List<CommentResponseDto> comments;
+
+    @JsonIgnore
+    Long version;
 }
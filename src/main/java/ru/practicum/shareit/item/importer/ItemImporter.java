@@ -0,0 +1,142 @@
+package ru.practicum.shareit.item.importer;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.dashboard.ItemDashboardUpdater;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.request.matching.RequestSuggester;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Imports a stream of items for one owner. Rows are validated like single creates and written
+ * in chunks, each in its own transaction with JDBC-batched inserts, so memory stays bounded by
+ * the chunk size and a bad row only costs itself. Rows before a syntax error stay imported.
+ */
+@Component
+@RequiredArgsConstructor
+public class ItemImporter {
+
+    static final int CHUNK_SIZE = 500;
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final ItemSearchEngine searchEngine;
+    private final ItemDashboardUpdater dashboardUpdater;
+    private final RequestSuggester requestSuggester;
+
+    public ItemImportResultDto importItems(Long ownerId, InputStream body) throws IOException {
+        if (!userRepository.existsById(ownerId)) {
+            throw new NoSuchElementException("User not found");
+        }
+        ItemImportResultDto result = new ItemImportResultDto();
+        List<Row> chunk = new ArrayList<>(CHUNK_SIZE);
+        int index = 0;
+        try (ItemJsonReader reader = new ItemJsonReader(objectMapper, body)) {
+            for (JsonNode node = reader.next(); node != null; index++, node = reader.next()) {
+                ItemDto dto = parse(node, index, result);
+                if (dto != null) {
+                    chunk.add(new Row(index, dto));
+                }
+                if (chunk.size() == CHUNK_SIZE) {
+                    write(ownerId, chunk, result);
+                    chunk.clear();
+                }
+            }
+        } catch (JsonParseException e) {
+            result.addError(index, "Malformed JSON: " + e.getOriginalMessage());
+        }
+        write(ownerId, chunk, result);
+        result.getErrors().sort(Comparator.comparingInt(ItemImportResultDto.RowError::getIndex));
+        return result;
+    }
+
+    private ItemDto parse(JsonNode node, int index, ItemImportResultDto result) {
+        ItemDto dto;
+        try {
+            dto = objectMapper.treeToValue(node, ItemDto.class);
+        } catch (IOException | IllegalArgumentException e) {
+            result.addError(index, "Invalid item: " + e.getMessage());
+            return null;
+        }
+        for (ConstraintViolation<ItemDto> violation : validator.validate(dto)) {
+            result.addError(index, violation.getPropertyPath() + ": " + violation.getMessage());
+            return null;
+        }
+        return dto;
+    }
+
+    private void write(Long ownerId, List<Row> chunk, ItemImportResultDto result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            // Freshly imported items would only crowd the entity cache.
+            entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+            User owner = userRepository.getReferenceById(ownerId);
+            Map<Long, ItemRequest> requests = itemRequestRepository.findAllById(chunk.stream()
+                            .map(row -> row.getDto().getRequestId())
+                            .filter(Objects::nonNull)
+                            .distinct()
+                            .toList())
+                    .stream()
+                    .collect(Collectors.toMap(ItemRequest::getId, Function.identity()));
+
+            List<Item> items = new ArrayList<>(chunk.size());
+            for (Row row : chunk) {
+                Long requestId = row.getDto().getRequestId();
+                if (requestId != null && !requests.containsKey(requestId)) {
+                    result.addError(row.getIndex(), "Request not found");
+                    continue;
+                }
+                Item item = ItemMapper.toItem(row.getDto(), requestId == null ? null : requests.get(requestId));
+                item.setOwner(owner);
+                items.add(item);
+            }
+            itemRepository.saveAll(items);
+            dashboardUpdater.onCreated(items);
+            requestSuggester.onItemsCreated(items);
+            items.forEach(item -> searchEngine.index(ItemMapper.toItemDto(item)));
+            result.setImported(result.getImported() + items.size());
+        });
+    }
+
+    @Value
+    private static class Row {
+        int index;
+        ItemDto dto;
+    }
+}
@@ -0,0 +1,47 @@
+package ru.practicum.shareit.item.importer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads rows one at a time from either a JSON array or newline-delimited JSON, so only the
+ * current row is held in memory. Rows come back as trees: a row of the wrong shape can then
+ * be rejected on its own, while a syntax error ends the stream.
+ */
+class ItemJsonReader implements Closeable {
+    private final JsonParser parser;
+    private final boolean array;
+    private JsonToken token;
+
+    ItemJsonReader(ObjectMapper objectMapper, InputStream in) throws IOException {
+        this.parser = objectMapper.createParser(in);
+        this.token = parser.nextToken();
+        this.array = token == JsonToken.START_ARRAY;
+        if (array) {
+            token = parser.nextToken();
+        }
+    }
+
+    /**
+     * Returns the next row, or null at the end of the input.
+     */
+    JsonNode next() throws IOException {
+        if (token == null || array && token == JsonToken.END_ARRAY) {
+            return null;
+        }
+        JsonNode row = parser.readValueAsTree();
+        token = parser.nextToken();
+        return row;
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+}
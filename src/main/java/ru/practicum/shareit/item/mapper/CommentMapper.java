@@ -7,6 +7,7 @@ import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
 public class CommentMapper {
     public static CommentResponseDto toCommentResponseDto(Comment comment) {
@@ -23,7 +24,8 @@ public class CommentMapper {
         comment.setText(requestDto.getText());
         comment.setItem(item);
         comment.setAuthor(author);
-        comment.setCreated(LocalDateTime.now());
+        // Stored with microsecond precision; truncated up front so keyset cursors match the column.
+        comment.setCreated(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
         return comment;
     }
 }
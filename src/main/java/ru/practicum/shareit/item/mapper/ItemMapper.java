@@ -1,12 +1,17 @@
 package ru.practicum.shareit.item.mapper;
 
 import ru.practicum.shareit.booking.dto.BookingShortDto;
-import ru.practicum.shareit.item.dto.CommentResponseDto;
+import ru.practicum.shareit.booking.timeline.TimeRange;
+import ru.practicum.shareit.item.comments.CommentSummary;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemWithBookingsDto;
+import ru.practicum.shareit.item.dto.TimeRangeDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemDashboard;
 import ru.practicum.shareit.request.model.ItemRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public class ItemMapper {
@@ -36,7 +41,7 @@ public class ItemMapper {
             Item item,
             BookingShortDto last,
             BookingShortDto next,
-            List<CommentResponseDto> comments) {
+            CommentSummary comments) {
 
         ItemWithBookingsDto dto = new ItemWithBookingsDto();
         dto.setId(item.getId());
@@ -45,7 +50,53 @@ public class ItemMapper {
         dto.setAvailable(item.getAvailable());
         dto.setLastBooking(last);
         dto.setNextBooking(next);
-        dto.setComments(comments == null ? List.of() : comments);
+        dto.setCommentCount(comments.getCount());
+        dto.setVersion(item.getVersion());
+        dto.setComments(comments.getLatest());
+        return dto;
+    }
+
+    public static ItemAvailabilityDto toItemAvailabilityDto(Item item, LocalDateTime from, LocalDateTime to,
+                                                            List<TimeRange> free) {
+        ItemAvailabilityDto dto = new ItemAvailabilityDto();
+        dto.setItemId(item.getId());
+        dto.setAvailable(item.getAvailable());
+        dto.setFrom(from);
+        dto.setTo(to);
+        dto.setFree(free.stream().map(range -> new TimeRangeDto(range.getStart(), range.getEnd())).toList());
+        return dto;
+    }
+
+    public static ItemWithBookingsDto toItemWithBookingsDto(ItemDashboard row) {
+        return toItemWithBookingsDto(row,
+                toShortDto(row.getLastBookingId(), row.getLastBookerId(), row.getLastStart(), row.getLastEnd()),
+                toShortDto(row.getNextBookingId(), row.getNextBookerId(), row.getNextStart(), row.getNextEnd()));
+    }
+
+    public static ItemWithBookingsDto toItemWithBookingsDto(ItemDashboard row,
+                                                            BookingShortDto last,
+                                                            BookingShortDto next) {
+        ItemWithBookingsDto dto = new ItemWithBookingsDto();
+        dto.setId(row.getItemId());
+        dto.setName(row.getName());
+        dto.setDescription(row.getDescription());
+        dto.setAvailable(row.getAvailable());
+        dto.setLastBooking(last);
+        dto.setNextBooking(next);
+        dto.setCommentCount((long) row.getCommentCount());
+        dto.setComments(row.getComments());
+        return dto;
+    }
+
+    private static BookingShortDto toShortDto(Long id, Long bookerId, LocalDateTime start, LocalDateTime end) {
+        if (id == null) {
+            return null;
+        }
+        BookingShortDto dto = new BookingShortDto();
+        dto.setId(id);
+        dto.setBookerId(bookerId);
+        dto.setStart(start);
+        dto.setEnd(end);
         return dto;
     }
 }
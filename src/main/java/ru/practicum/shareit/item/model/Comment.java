@@ -10,7 +10,9 @@ import java.time.LocalDateTime;
 
 @Data
 @Entity
-@Table(name = "comments")
+@Table(name = "comments", indexes = {
+        @Index(name = "ix_comments_item_created", columnList = "item_id, created, id")
+})
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class Comment {
     @Id
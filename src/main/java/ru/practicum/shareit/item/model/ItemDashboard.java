@@ -0,0 +1,62 @@
+package ru.practicum.shareit.item.model;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import ru.practicum.shareit.item.dto.CommentResponseDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * What the owner's item list shows for one item, kept up to date by
+ * {@link ru.practicum.shareit.item.dashboard.ItemDashboardUpdater}. The row goes stale once
+ * {@code nextStart} passes, until it is rolled forward.
+ */
+@Data
+@Entity
+@DynamicUpdate
+@Table(name = "item_dashboard", indexes = {
+        @Index(name = "ix_item_dashboard_owner", columnList = "owner_id, item_id"),
+        @Index(name = "ix_item_dashboard_next_start", columnList = "next_start")
+})
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ItemDashboard {
+    @Id
+    @Column(name = "item_id")
+    Long itemId;
+
+    @Column(name = "owner_id", nullable = false)
+    Long ownerId;
+
+    @Column(length = 255, nullable = false)
+    String name;
+
+    @Column(columnDefinition = "TEXT")
+    String description;
+
+    @Column(name = "is_available", nullable = false)
+    Boolean available;
+
+    Long lastBookingId;
+    Long lastBookerId;
+    LocalDateTime lastStart;
+    LocalDateTime lastEnd;
+
+    Long nextBookingId;
+    Long nextBookerId;
+    LocalDateTime nextStart;
+    LocalDateTime nextEnd;
+
+    @Column(nullable = false)
+    int commentCount;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(nullable = false)
+    List<CommentResponseDto> comments = new ArrayList<>();
+}
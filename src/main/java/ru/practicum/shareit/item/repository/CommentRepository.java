@@ -1,11 +1,34 @@
 package ru.practicum.shareit.item.repository;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.item.model.Comment;
+
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    List<Comment> findByItemId(Long itemId);
+    long countByItemId(Long itemId);
+
+    /**
+     * The newest comments of an item; served by {@code ix_comments_item_created}.
+     */
+    @EntityGraph(attributePaths = "author")
+    @Query("select c from Comment c where c.item.id = :itemId order by c.created desc, c.id desc")
+    List<Comment> findPage(@Param("itemId") Long itemId, Limit limit);
 
-    List<Comment> findByItemIdIn(List<Long> itemIds);
+    /**
+     * The comments of an item after a keyset position in (created, id) descending order.
+     */
+    @EntityGraph(attributePaths = "author")
+    @Query("select c from Comment c where c.item.id = :itemId"
+            + " and (c.created < :created or (c.created = :created and c.id < :id))"
+            + " order by c.created desc, c.id desc")
+    List<Comment> findPageAfter(@Param("itemId") Long itemId,
+                                @Param("created") LocalDateTime created,
+                                @Param("id") Long id,
+                                Limit limit);
 }
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.item.repository;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.item.model.ItemDashboard;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface ItemDashboardRepository extends JpaRepository<ItemDashboard, Long> {
+    List<ItemDashboard> findByOwnerIdOrderByItemId(Long ownerId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<ItemDashboard> findForUpdateByItemIdIn(Collection<Long> itemIds);
+
+    @Query("SELECT d.itemId FROM ItemDashboard d WHERE d.nextStart <= :now ORDER BY d.itemId")
+    List<Long> findDueItemIds(LocalDateTime now, Pageable pageable);
+
+    @Query("SELECT i.id FROM Item i WHERE NOT EXISTS (SELECT 1 FROM ItemDashboard d WHERE d.itemId = i.id) ORDER BY i.id")
+    List<Long> findItemIdsWithoutDashboard(Pageable pageable);
+}
@@ -1,16 +1,88 @@
 package ru.practicum.shareit.item.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
     List<Item> findAllByOwnerId(Long ownerId);
 
-    @Query("SELECT i FROM Item i WHERE i.available = true AND " +
-            "(LOWER(i.name) LIKE LOWER(CONCAT('%', :text, '%')) " +
-            "OR LOWER(i.description) LIKE LOWER(CONCAT('%', :text, '%')))")
-    List<Item> searchAvailableItems(String text);
+    List<Item> findByIdGreaterThanOrderById(Long id, Pageable pageable);
+
+    @Query("""
+            SELECT new ru.practicum.shareit.item.dto.ItemDto(i.id, i.name, i.description, i.available, i.request.id)
+            FROM Item i
+            WHERE i.available = true AND i.id > :afterId
+              AND (LOWER(i.name) LIKE LOWER(CONCAT('%', :text, '%'))
+                OR LOWER(i.description) LIKE LOWER(CONCAT('%', :text, '%')))
+            ORDER BY i.id
+            """)
+    List<ItemDto> searchAvailableItems(String text, Long afterId, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            SELECT new ru.practicum.shareit.item.dto.ItemDto(i.id, i.name, i.description, i.available, i.request.id)
+            FROM Item i
+            WHERE i.available = true AND i.id > :afterId
+              AND (LOWER(i.name) LIKE LOWER(CONCAT('%', :text, '%'))
+                OR LOWER(i.description) LIKE LOWER(CONCAT('%', :text, '%')))
+            ORDER BY i.id
+            """)
+    Stream<ItemDto> streamAvailableItems(String text, Long afterId);
+
+    /**
+     * Like {@link #searchAvailableItems}, leaving out items with an approved booking overlapping
+     * [start, end). The anti-join probes ix_bookings_item_approved_end per candidate and only reads
+     * bookings ending after {@code start}, not the item's history.
+     */
+    @Query("""
+            SELECT new ru.practicum.shareit.item.dto.ItemDto(i.id, i.name, i.description, i.available, i.request.id)
+            FROM Item i
+            WHERE i.available = true AND i.id > :afterId
+              AND (LOWER(i.name) LIKE LOWER(CONCAT('%', :text, '%'))
+                OR LOWER(i.description) LIKE LOWER(CONCAT('%', :text, '%')))
+              AND NOT EXISTS (
+                SELECT 1 FROM Booking b
+                WHERE b.item = i AND b.status = ru.practicum.shareit.booking.model.Status.APPROVED
+                  AND b.end > :start AND b.start < :end)
+            ORDER BY i.id
+            """)
+    List<ItemDto> searchAvailableItemsFreeBetween(String text, LocalDateTime start, LocalDateTime end, Long afterId,
+                                                  Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            SELECT new ru.practicum.shareit.item.dto.ItemDto(i.id, i.name, i.description, i.available, i.request.id)
+            FROM Item i
+            WHERE i.available = true AND i.id > :afterId
+              AND (LOWER(i.name) LIKE LOWER(CONCAT('%', :text, '%'))
+                OR LOWER(i.description) LIKE LOWER(CONCAT('%', :text, '%')))
+              AND NOT EXISTS (
+                SELECT 1 FROM Booking b
+                WHERE b.item = i AND b.status = ru.practicum.shareit.booking.model.Status.APPROVED
+                  AND b.end > :start AND b.start < :end)
+            ORDER BY i.id
+            """)
+    Stream<ItemDto> streamAvailableItemsFreeBetween(String text, LocalDateTime start, LocalDateTime end, Long afterId);
+
+    /**
+     * Items answering any of the requests, served by ix_items_request.
+     */
+    @Query("""
+            SELECT new ru.practicum.shareit.item.dto.ItemDto(i.id, i.name, i.description, i.available, i.request.id)
+            FROM Item i
+            WHERE i.request.id IN :requestIds
+            ORDER BY i.id
+            """)
+    List<ItemDto> findDtosByRequestIdIn(Collection<Long> requestIds);
 }
@@ -0,0 +1,63 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.timeline.TimeRange;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.util.OffsetPageRequest;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Delegates matching to the database. On PostgreSQL the LIKE predicates are served
+ * by the pg_trgm GIN indexes declared in schema.sql.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "database", matchIfMissing = true)
+@RequiredArgsConstructor
+public class DatabaseItemSearchEngine implements ItemSearchEngine {
+
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<ItemDto> search(String text, Long afterId, int from, int size) {
+        return itemRepository.searchAvailableItems(text, cursor(afterId), new OffsetPageRequest(from, size));
+    }
+
+    @Override
+    public List<ItemDto> searchFree(String text, TimeRange window, Long afterId, int from, int size) {
+        return itemRepository.searchAvailableItemsFreeBetween(text, window.getStart(), window.getEnd(),
+                cursor(afterId), new OffsetPageRequest(from, size));
+    }
+
+    /**
+     * Reads matches through a forward-only cursor; must run inside a transaction.
+     * Rows are projected straight into DTOs, so the persistence context stays empty.
+     */
+    @Override
+    public void stream(String text, Long afterId, Consumer<? super ItemDto> consumer) {
+        try (Stream<ItemDto> items = itemRepository.streamAvailableItems(text, cursor(afterId))) {
+            items.forEach(consumer);
+        }
+    }
+
+    @Override
+    public void streamFree(String text, TimeRange window, Long afterId, Consumer<? super ItemDto> consumer) {
+        try (Stream<ItemDto> items = itemRepository.streamAvailableItemsFreeBetween(text, window.getStart(),
+                window.getEnd(), cursor(afterId))) {
+            items.forEach(consumer);
+        }
+    }
+
+    @Override
+    public void index(ItemDto item) {
+    }
+
+    private static long cursor(Long afterId) {
+        return afterId == null ? 0 : afterId;
+    }
+}
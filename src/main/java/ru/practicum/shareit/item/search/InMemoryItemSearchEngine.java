@@ -0,0 +1,248 @@
+package ru.practicum.shareit.item.search;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.timeline.BookingTimeline;
+import ru.practicum.shareit.booking.timeline.BookingTimelineIndex;
+import ru.practicum.shareit.booking.timeline.TimeRange;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.util.AfterCommit;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Trigram inverted index over the names and descriptions of available items.
+ * Candidates come from the shortest posting list of the query trigrams and are then
+ * verified with {@link LikeMatcher}, so results equal those of the database query.
+ * Queries without a full trigram fall back to scanning the indexed items. Results are
+ * ordered by id, which makes the id a stable keyset cursor. Time windows are checked a batch of
+ * matches at a time, outside the index lock: against the booking timelines already in memory, and
+ * with one query for the rest, so a broad search does not fill the timeline index.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "memory")
+@RequiredArgsConstructor
+public class InMemoryItemSearchEngine implements ItemSearchEngine {
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+    private static final int WINDOW_CHECK_BATCH_SIZE = 200;
+
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final BookingTimelineIndex bookingTimelines;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<Long, IndexedItem> items = new TreeMap<>();
+    private final Map<String, PostingList> postings = new HashMap<>();
+
+    @PostConstruct
+    public void load() {
+        long lastId = 0;
+        List<Item> batch;
+        do {
+            batch = itemRepository.findByIdGreaterThanOrderById(lastId, PageRequest.of(0, LOAD_BATCH_SIZE));
+            for (Item item : batch) {
+                put(ItemMapper.toItemDto(item));
+                lastId = item.getId();
+            }
+        } while (batch.size() == LOAD_BATCH_SIZE);
+        log.info("Item search index loaded: {} items, {} trigrams", size(), postings.size());
+    }
+
+    @Override
+    public List<ItemDto> search(String text, Long afterId, int from, int size) {
+        String query = Trigrams.normalize(text);
+        Page page = new Page(LikeMatcher.contains(query), from, size);
+        long cursor = afterId == null ? 0 : afterId;
+        lock.readLock().lock();
+        try {
+            Set<String> grams = Trigrams.of(query);
+            if (grams.isEmpty()) {
+                for (IndexedItem item : items.tailMap(cursor, false).values()) {
+                    if (!page.offer(item)) {
+                        break;
+                    }
+                }
+                return page.items;
+            }
+            PostingList candidates = null;
+            for (String gram : grams) {
+                PostingList posting = postings.get(gram);
+                if (posting == null) {
+                    return page.items;
+                }
+                if (candidates == null || posting.size() < candidates.size()) {
+                    candidates = posting;
+                }
+            }
+            for (int i = candidates.indexAfter(cursor); i < candidates.size(); i++) {
+                if (!page.offer(items.get(candidates.get(i)))) {
+                    break;
+                }
+            }
+            return page.items;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<ItemDto> searchFree(String text, TimeRange window, Long afterId, int from, int size) {
+        List<ItemDto> page = new ArrayList<>(Math.min(size, 64));
+        int skip = from;
+        Long cursor = afterId;
+        List<ItemDto> matches;
+        do {
+            matches = search(text, cursor, 0, WINDOW_CHECK_BATCH_SIZE);
+            Set<Long> booked = bookedIn(matches, window);
+            for (ItemDto item : matches) {
+                if (booked.contains(item.getId())) {
+                    continue;
+                }
+                if (skip > 0) {
+                    skip--;
+                } else {
+                    page.add(item);
+                    if (page.size() == size) {
+                        return page;
+                    }
+                }
+            }
+            if (!matches.isEmpty()) {
+                cursor = matches.get(matches.size() - 1).getId();
+            }
+        } while (matches.size() == WINDOW_CHECK_BATCH_SIZE);
+        return page;
+    }
+
+    private Set<Long> bookedIn(List<ItemDto> matches, TimeRange window) {
+        List<Long> ids = matches.stream().map(ItemDto::getId).toList();
+        Map<Long, BookingTimeline> loaded = bookingTimelines.getLoaded(ids);
+        Set<Long> booked = new HashSet<>();
+        List<Long> cold = new ArrayList<>();
+        for (Long id : ids) {
+            BookingTimeline timeline = loaded.get(id);
+            if (timeline == null) {
+                cold.add(id);
+            } else if (timeline.findOverlap(window.getStart(), window.getEnd()) != null) {
+                booked.add(id);
+            }
+        }
+        if (!cold.isEmpty()) {
+            booked.addAll(bookingRepository.findItemIdsBookedBetween(cold, Status.APPROVED,
+                    window.getStart(), window.getEnd()));
+        }
+        return booked;
+    }
+
+    @Override
+    public void index(ItemDto item) {
+        AfterCommit.run(() -> put(item));
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return items.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void put(ItemDto dto) {
+        IndexedItem indexed = new IndexedItem(dto);
+        lock.writeLock().lock();
+        try {
+            IndexedItem previous = items.remove(dto.getId());
+            if (previous != null) {
+                for (String gram : previous.grams()) {
+                    PostingList posting = postings.get(gram);
+                    posting.remove(dto.getId());
+                    if (posting.isEmpty()) {
+                        postings.remove(gram);
+                    }
+                }
+            }
+            if (Boolean.TRUE.equals(dto.getAvailable())) {
+                items.put(dto.getId(), indexed);
+                for (String gram : indexed.grams()) {
+                    postings.computeIfAbsent(gram, g -> new PostingList()).add(dto.getId());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static final class Page {
+        private final LikeMatcher matcher;
+        private final int size;
+        private final List<ItemDto> items;
+        private int skip;
+
+        private Page(LikeMatcher matcher, int from, int size) {
+            this.matcher = matcher;
+            this.size = size;
+            this.skip = from;
+            this.items = new ArrayList<>(Math.min(size, 64));
+        }
+
+        /**
+         * Returns false once the page is full.
+         */
+        private boolean offer(IndexedItem item) {
+            if (!item.matches(matcher)) {
+                return true;
+            }
+            if (skip > 0) {
+                skip--;
+                return true;
+            }
+            items.add(item.dto);
+            return items.size() < size;
+        }
+    }
+
+    private static final class IndexedItem {
+        private final ItemDto dto;
+        private final String name;
+        private final String description;
+
+        private IndexedItem(ItemDto dto) {
+            this.dto = dto;
+            this.name = Trigrams.normalize(dto.getName());
+            this.description = dto.getDescription() == null ? null : Trigrams.normalize(dto.getDescription());
+        }
+
+        private boolean matches(LikeMatcher matcher) {
+            return matcher.matches(name) || description != null && matcher.matches(description);
+        }
+
+        private Set<String> grams() {
+            Set<String> grams = Trigrams.of(name);
+            if (description != null) {
+                grams.addAll(Trigrams.of(description));
+            }
+            return grams;
+        }
+    }
+}
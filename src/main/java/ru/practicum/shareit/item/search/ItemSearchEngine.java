@@ -0,0 +1,46 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.booking.timeline.TimeRange;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface ItemSearchEngine {
+    int STREAM_BATCH_SIZE = 500;
+
+    /**
+     * Returns available items matching the text ordered by id. When {@code afterId} is set only
+     * items with a greater id are considered (keyset cursor); {@code from} skips matches.
+     */
+    List<ItemDto> search(String text, Long afterId, int from, int size);
+
+    /**
+     * Like {@link #search}, leaving out items with an approved booking overlapping the window.
+     */
+    List<ItemDto> searchFree(String text, TimeRange window, Long afterId, int from, int size);
+
+    void index(ItemDto item);
+
+    default void stream(String text, Long afterId, Consumer<? super ItemDto> consumer) {
+        streamBatches(text, null, afterId, consumer);
+    }
+
+    default void streamFree(String text, TimeRange window, Long afterId, Consumer<? super ItemDto> consumer) {
+        streamBatches(text, window, afterId, consumer);
+    }
+
+    private void streamBatches(String text, TimeRange window, Long afterId, Consumer<? super ItemDto> consumer) {
+        Long cursor = afterId;
+        List<ItemDto> batch;
+        do {
+            batch = window == null
+                    ? search(text, cursor, 0, STREAM_BATCH_SIZE)
+                    : searchFree(text, window, cursor, 0, STREAM_BATCH_SIZE);
+            batch.forEach(consumer);
+            if (!batch.isEmpty()) {
+                cursor = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == STREAM_BATCH_SIZE);
+    }
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.regex.Pattern;
+
+/**
+ * Evaluates {@code value LIKE '%' || text || '%'} in memory with the same wildcard
+ * ({@code %}, {@code _}) rules as the JPQL query, which declares no escape character.
+ */
+final class LikeMatcher {
+    private final String literal;
+    private final Pattern pattern;
+
+    private LikeMatcher(String literal, Pattern pattern) {
+        this.literal = literal;
+        this.pattern = pattern;
+    }
+
+    static LikeMatcher contains(String normalizedText) {
+        if (normalizedText.indexOf('%') < 0 && normalizedText.indexOf('_') < 0) {
+            return new LikeMatcher(normalizedText, null);
+        }
+        StringBuilder regex = new StringBuilder();
+        StringBuilder chunk = new StringBuilder();
+        for (int i = 0; i < normalizedText.length(); i++) {
+            char c = normalizedText.charAt(i);
+            if (c == '%' || c == '_') {
+                regex.append(Pattern.quote(chunk.toString())).append(c == '%' ? ".*" : ".");
+                chunk.setLength(0);
+            } else {
+                chunk.append(c);
+            }
+        }
+        regex.append(Pattern.quote(chunk.toString()));
+        return new LikeMatcher(null, Pattern.compile(regex.toString(), Pattern.DOTALL));
+    }
+
+    boolean matches(String normalizedValue) {
+        if (pattern == null) {
+            return normalizedValue.contains(literal);
+        }
+        return pattern.matcher(normalizedValue).find();
+    }
+}
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+final class Trigrams {
+    static final int LENGTH = 3;
+
+    private Trigrams() {
+    }
+
+    static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Returns the distinct trigrams of every letter/digit run of an already normalized value.
+     * Trigrams never span a separator, so any run found in a query is a literal substring
+     * of a single token in every matching text.
+     */
+    static Set<String> of(String normalized) {
+        Set<String> grams = new LinkedHashSet<>();
+        int tokenStart = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean wordChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (wordChar && tokenStart < 0) {
+                tokenStart = i;
+            } else if (!wordChar && tokenStart >= 0) {
+                for (int j = tokenStart; j + LENGTH <= i; j++) {
+                    grams.add(normalized.substring(j, j + LENGTH));
+                }
+                tokenStart = -1;
+            }
+        }
+        return grams;
+    }
+}
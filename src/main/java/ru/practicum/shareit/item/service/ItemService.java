@@ -1,8 +1,11 @@
 package ru.practicum.shareit.item.service;
 
+import ru.practicum.shareit.booking.timeline.TimeRange;
 import ru.practicum.shareit.item.dto.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface ItemService {
     ItemDto create(ItemDto itemDto, Long userId);
@@ -13,7 +16,17 @@ public interface ItemService {
 
     List<ItemWithBookingsDto> findAllByOwner(Long userId);
 
-    List<ItemDto> search(String text);
+    List<CommentResponseDto> findComments(Long itemId, CommentCursor cursor, int size);
+
+    ItemAvailabilityDto findAvailability(Long itemId, LocalDateTime from, LocalDateTime to);
+
+    List<ItemAvailabilityDto> findAvailability(List<Long> itemIds, LocalDateTime from, LocalDateTime to);
+
+    TimeRange searchWindow(LocalDateTime start, LocalDateTime end);
+
+    List<ItemDto> search(String text, TimeRange window, Long after, int from, int size);
+
+    void streamSearch(String text, TimeRange window, Long after, Consumer<? super ItemDto> consumer);
 
     CommentResponseDto createComment(Long itemId, CommentRequestDto commentRequestDto, Long authorId);
 }
\ No newline at end of file
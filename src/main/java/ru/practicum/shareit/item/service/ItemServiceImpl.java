@@ -1,32 +1,46 @@
 package ru.practicum.shareit.item.service;
 
-import jakarta.transaction.Transactional;
 import jakarta.validation.ValidationException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 import ru.practicum.shareit.booking.dto.BookingShortDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
-import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.timeline.BookingTimeline;
+import ru.practicum.shareit.booking.timeline.BookingTimelineIndex;
+import ru.practicum.shareit.booking.timeline.TimeRange;
+import ru.practicum.shareit.item.comments.CommentSummaryCache;
+import ru.practicum.shareit.item.dashboard.ItemDashboardUpdater;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemDashboard;
 import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemDashboardRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.request.matching.RequestSuggester;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 import ru.practicum.shareit.user.service.UserServiceImpl;
 
+import java.time.Clock;
 import java.time.LocalDateTime;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -40,6 +54,13 @@ public class ItemServiceImpl implements ItemService {
     private final UserServiceImpl userService;
     private final CommentRepository commentRepository;
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemSearchEngine searchEngine;
+    private final BookingTimelineIndex bookingTimelines;
+    private final ItemDashboardRepository dashboardRepository;
+    private final ItemDashboardUpdater dashboardUpdater;
+    private final CommentSummaryCache commentSummaries;
+    private final RequestSuggester requestSuggester;
+    private final Clock clock;
 
     @Override
     public ItemDto create(ItemDto itemDto, Long userId) {
@@ -62,7 +83,11 @@ public class ItemServiceImpl implements ItemService {
 
         item.setOwner(owner);
         Item savedItem = itemRepository.save(item);
-        return ItemMapper.toItemDto(savedItem);
+        dashboardUpdater.onCreated(List.of(savedItem));
+        requestSuggester.onItemsCreated(List.of(savedItem));
+        ItemDto savedDto = ItemMapper.toItemDto(savedItem);
+        searchEngine.index(savedDto);
+        return savedDto;
     }
 
     @Override
@@ -76,42 +101,94 @@ public class ItemServiceImpl implements ItemService {
         if (!item.getOwner().getId().equals(userId)) {
             throw new NoSuchElementException("Only owner can update item");
         }
+        if (itemDto.getExpectedVersions() != null && !itemDto.getExpectedVersions().contains(item.getVersion())) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Item has been modified");
+        }
 
         if (itemDto.getName() != null) item.setName(itemDto.getName());
         if (itemDto.getDescription() != null) item.setDescription(itemDto.getDescription());
         if (itemDto.getAvailable() != null) item.setAvailable(itemDto.getAvailable());
 
         Item updatedItem = itemRepository.save(item);
-        return ItemMapper.toItemDto(updatedItem);
+        dashboardUpdater.onUpdated(updatedItem);
+        ItemDto updatedDto = ItemMapper.toItemDto(updatedItem);
+        searchEngine.index(updatedDto);
+        return updatedDto;
     }
 
+    /**
+     * Embeds the comment count and the latest comments only; the rest are paged through
+     * {@link #findComments}.
+     */
     @Override
+    @Transactional(readOnly = true)
     public ItemWithBookingsDto findById(Long itemId, Long requesterId) {
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new NoSuchElementException("Item not found"));
 
-        List<CommentResponseDto> comments = commentRepository.findByItemId(itemId).stream()
-                .map(CommentMapper::toCommentResponseDto)
-                .collect(Collectors.toList());
-
         BookingShortDto last = null;
         BookingShortDto next = null;
         if (item.getOwner().getId().equals(requesterId)) {
-            last = bookingRepository.findLastBooking(
-                            itemId, Status.APPROVED, LocalDateTime.now())
-                    .map(BookingMapper::toShortDto)
-                    .orElse(null);
-
-            next = bookingRepository.findNextBooking(
-                            itemId, Status.APPROVED, LocalDateTime.now())
-                    .map(BookingMapper::toShortDto)
-                    .orElse(null);
+            BookingTimeline timeline = bookingTimelines.get(itemId);
+            LocalDateTime now = LocalDateTime.now(clock);
+            last = BookingMapper.toShortDto(timeline.last(now));
+            next = BookingMapper.toShortDto(timeline.next(now));
         }
 
-        return ItemMapper.toItemWithBookingsDto(item, last, next, comments);
+        return ItemMapper.toItemWithBookingsDto(item, last, next, commentSummaries.get(itemId));
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<CommentResponseDto> findComments(Long itemId, CommentCursor cursor, int size) {
+        if (!itemRepository.existsById(itemId)) {
+            throw new NoSuchElementException("Item not found");
+        }
+        List<Comment> comments = cursor == null
+                ? commentRepository.findPage(itemId, Limit.of(size))
+                : commentRepository.findPageAfter(itemId, cursor.getCreated(), cursor.getId(), Limit.of(size));
+        return comments.stream()
+                .map(CommentMapper::toCommentResponseDto)
+                .toList();
+    }
 
+    @Override
+    @Transactional(readOnly = true)
+    public ItemAvailabilityDto findAvailability(Long itemId, LocalDateTime from, LocalDateTime to) {
+        List<ItemAvailabilityDto> availability = findAvailability(List.of(itemId), from, to);
+        if (availability.isEmpty()) {
+            throw new NoSuchElementException("Item not found");
+        }
+        return availability.get(0);
+    }
+
+    /**
+     * Answered from the items' booking timelines; hours partly booked count as busy, and an item
+     * marked unavailable has no free time. Unknown ids are left out.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<ItemAvailabilityDto> findAvailability(List<Long> itemIds, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        if (to.isAfter(now.plus(bookingTimelines.getHorizon()))) {
+            throw new IllegalArgumentException("Availability is known " + bookingTimelines.getHorizon().toDays()
+                    + " days ahead");
+        }
+        Map<Long, Item> items = itemRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        Map<Long, BookingTimeline> timelines = bookingTimelines.getAll(items.keySet());
+        return itemIds.stream()
+                .distinct()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .map(item -> ItemMapper.toItemAvailabilityDto(item, from, to, item.getAvailable()
+                        ? timelines.get(item.getId()).freeRanges(from, to, now)
+                        : List.of()))
+                .toList();
+    }
 
     public Item findEntityById(Long id) {
         Item item = itemRepository.findById(id)
@@ -119,60 +196,74 @@ public class ItemServiceImpl implements ItemService {
         return item;
     }
 
+    /**
+     * Reads the owner's dashboard rows. Rows whose next booking has already started are not
+     * rolled forward yet, so their last/next booking is taken from the timelines instead.
+     */
     @Override
+    @Transactional(readOnly = true)
     public List<ItemWithBookingsDto> findAllByOwner(Long userId) {
-        List<Item> items = itemRepository.findAllByOwnerId(userId);
-        if (items.isEmpty()) return List.of();
-
-        List<Long> itemIds = items.stream().map(Item::getId).toList();
-        List<Booking> bookings = bookingRepository.findByItemIdIn(itemIds);
-        Map<Long, List<Booking>> bookingsByItem = bookings.stream()
-                .collect(Collectors.groupingBy(b -> b.getItem().getId()));
-
-        Map<Long, List<CommentResponseDto>> commentsByItem = commentRepository.findByItemIdIn(itemIds).stream()
-                .collect(Collectors.groupingBy(
-                        c -> c.getItem().getId(),
-                        Collectors.mapping(CommentMapper::toCommentResponseDto, Collectors.toList())
-                ));
-
-        LocalDateTime now = LocalDateTime.now();
-
-        return items.stream()
-                .map(item -> {
-                    List<Booking> itemBookings = bookingsByItem.getOrDefault(item.getId(), List.of());
-                    List<CommentResponseDto> commentDtos = commentsByItem.getOrDefault(item.getId(), List.of());
-                    return ItemMapper.toItemWithBookingsDto(
-                            item,
-                            findLastBooking(itemBookings, now),
-                            findNextBooking(itemBookings, now),
-                            commentDtos
-                    );
+        List<ItemDashboard> rows = dashboardRepository.findByOwnerIdOrderByItemId(userId);
+        LocalDateTime now = LocalDateTime.now(clock);
+        List<Long> stale = rows.stream()
+                .filter(row -> row.getNextStart() != null && !row.getNextStart().isAfter(now))
+                .map(ItemDashboard::getItemId)
+                .toList();
+        Map<Long, BookingTimeline> timelines = stale.isEmpty() ? Map.of() : bookingTimelines.getAll(stale);
+
+        return rows.stream()
+                .map(row -> {
+                    BookingTimeline timeline = timelines.get(row.getItemId());
+                    if (timeline == null) {
+                        return ItemMapper.toItemWithBookingsDto(row);
+                    }
+                    return ItemMapper.toItemWithBookingsDto(row,
+                            BookingMapper.toShortDto(timeline.last(now)),
+                            BookingMapper.toShortDto(timeline.next(now)));
                 })
                 .collect(Collectors.toList());
     }
 
-    private BookingShortDto findLastBooking(List<Booking> bookings, LocalDateTime now) {
-        return bookings.stream()
-                .filter(b -> b.getStart().isBefore(now) && b.getStatus() == Status.APPROVED)
-                .max(Comparator.comparing(Booking::getStart))
-                .map(BookingMapper::toShortDto)
-                .orElse(null);
+    /**
+     * The window of a search for free items, or null without one. Like a booking it must lie in the future.
+     */
+    @Override
+    public TimeRange searchWindow(LocalDateTime start, LocalDateTime end) {
+        if (start == null && end == null) {
+            return null;
+        }
+        if (start == null || end == null) {
+            throw new IllegalArgumentException("start and end must be given together");
+        }
+        if (!start.isBefore(end)) {
+            throw new IllegalArgumentException("start must be before end");
+        }
+        if (start.isBefore(LocalDateTime.now(clock))) {
+            throw new IllegalArgumentException("start must be in future");
+        }
+        return new TimeRange(start, end);
     }
 
-    private BookingShortDto findNextBooking(List<Booking> bookings, LocalDateTime now) {
-        return bookings.stream()
-                .filter(b -> b.getStart().isAfter(now) && b.getStatus() == Status.APPROVED)
-                .min(Comparator.comparing(Booking::getStart))
-                .map(BookingMapper::toShortDto)
-                .orElse(null);
+    /**
+     * With a window, leaves out items booked at any time within it.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<ItemDto> search(String text, TimeRange window, Long after, int from, int size) {
+        if (text.isBlank()) return List.of();
+        if (window == null) return searchEngine.search(text, after, from, size);
+        return searchEngine.searchFree(text, window, after, from, size);
     }
 
     @Override
-    public List<ItemDto> search(String text) {
-        if (text.isBlank()) return List.of();
-        return itemRepository.searchAvailableItems(text).stream()
-                .map(ItemMapper::toItemDto)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public void streamSearch(String text, TimeRange window, Long after, Consumer<? super ItemDto> consumer) {
+        if (text.isBlank()) return;
+        if (window == null) {
+            searchEngine.stream(text, after, consumer);
+        } else {
+            searchEngine.streamFree(text, window, after, consumer);
+        }
     }
 
     @Override
@@ -187,7 +278,7 @@ public class ItemServiceImpl implements ItemService {
 
         boolean hadBooking = bookingRepository
                 .existsByBookerIdAndItemIdAndStatusAndEndBefore(
-                        authorId, itemId, Status.APPROVED, LocalDateTime.now());
+                        authorId, itemId, Status.APPROVED, LocalDateTime.now(clock));
 
         if (!hadBooking) {
             throw new ValidationException("Пользователь ещё не завершил бронирование вещи, комментарий нельзя оставить");
@@ -195,9 +286,9 @@ public class ItemServiceImpl implements ItemService {
 
         Comment comment = CommentMapper.toComment(item, dto, author);
         commentRepository.save(comment);
+        dashboardUpdater.onCommented(comment);
+        commentSummaries.onCommented(comment);
 
         return CommentMapper.toCommentResponseDto(comment);
     }
-
-
 }
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.profiling;
+
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application {@link DataSource} in a {@link ProfilingDataSource}: the only one, or the
+ * primary one when pools sit behind a routing data source, so no statement is counted twice.
+ */
+@Component
+public class ProfilingDataSourcePostProcessor implements BeanPostProcessor, BeanFactoryAware {
+
+    private final ObjectProvider<SqlProfiler> profiler;
+    private ConfigurableListableBeanFactory beanFactory;
+
+    public ProfilingDataSourcePostProcessor(ObjectProvider<SqlProfiler> profiler) {
+        this.profiler = profiler;
+    }
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        this.beanFactory = (ConfigurableListableBeanFactory) beanFactory;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof ProfilingDataSource)
+                && isApplicationDataSource(beanName)) {
+            return new ProfilingDataSource(dataSource, profiler.getObject());
+        }
+        return bean;
+    }
+
+    private boolean isApplicationDataSource(String beanName) {
+        return beanFactory.getBeanNamesForType(DataSource.class, true, false).length == 1
+                || beanFactory.containsBeanDefinition(beanName) && beanFactory.getBeanDefinition(beanName).isPrimary();
+    }
+}
@@ -0,0 +1,94 @@
+package ru.practicum.shareit.profiling;
+
+import ru.practicum.shareit.config.PersistenceWorkCounter;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SQL issued while serving one request: statement count, total time spent in the database and
+ * the slowest statements. Written by the request thread only; published once finished. The count
+ * is the request's {@link PersistenceWorkCounter} count, so both report the same number.
+ */
+public class SqlProfile {
+
+    private final String method;
+    private final int keepSlowest;
+    private final PersistenceWorkCounter.Counts counts;
+    private final List<Query> slowest = new ArrayList<>();
+    private String uri;
+    private Instant finishedAt;
+    private long dbNanos;
+
+    SqlProfile(String method, String uri, int keepSlowest, PersistenceWorkCounter.Counts counts) {
+        this.method = method;
+        this.uri = uri;
+        this.keepSlowest = keepSlowest;
+        this.counts = counts;
+    }
+
+    void record(String sql, long nanos) {
+        dbNanos += nanos;
+        if (keepSlowest == 0 || slowest.size() == keepSlowest && slowest.get(keepSlowest - 1).nanos >= nanos) {
+            return;
+        }
+        int i = slowest.size();
+        while (i > 0 && slowest.get(i - 1).nanos < nanos) {
+            i--;
+        }
+        slowest.add(i, new Query(sql, nanos));
+        if (slowest.size() > keepSlowest) {
+            slowest.remove(keepSlowest);
+        }
+    }
+
+    void finish(String uri) {
+        if (uri != null) {
+            this.uri = uri;
+        }
+        this.finishedAt = Instant.now();
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getUri() {
+        return uri;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public long getStatements() {
+        return counts == null ? 0 : counts.getStatements();
+    }
+
+    public double getDbMillis() {
+        return dbNanos / 1e6;
+    }
+
+    public List<Query> getSlowest() {
+        return List.copyOf(slowest);
+    }
+
+    public static final class Query {
+        private final String sql;
+        private final long nanos;
+
+        Query(String sql, long nanos) {
+            this.sql = sql;
+            this.nanos = nanos;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public double getMillis() {
+            return nanos / 1e6;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.profiling;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * {@code /actuator/sqlprofile}: SQL profiles of the most recent requests, newest first.
+ */
+@Component
+@Endpoint(id = "sqlprofile")
+@RequiredArgsConstructor
+public class SqlProfileEndpoint {
+
+    private final SqlProfiler profiler;
+
+    @ReadOperation
+    public List<SqlProfile> recent() {
+        return profiler.recent();
+    }
+}
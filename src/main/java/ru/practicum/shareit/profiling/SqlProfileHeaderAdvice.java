@@ -0,0 +1,44 @@
+package ru.practicum.shareit.profiling;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.Locale;
+
+/**
+ * In debug mode ({@code shareit.sql.profile.debug-header=true}) adds
+ * {@value #HEADER}{@code : statements=3; db-ms=1.25} to every response body written by a controller.
+ */
+@ControllerAdvice
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.sql.profile.debug-header", havingValue = "true")
+public class SqlProfileHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    static final String HEADER = "X-SQL-Profile";
+
+    private final SqlProfiler profiler;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType contentType,
+                                  Class<? extends HttpMessageConverter<?>> converterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        SqlProfile profile = profiler.current();
+        if (profile != null) {
+            response.getHeaders().set(HEADER, String.format(Locale.ROOT, "statements=%d; db-ms=%.2f",
+                    profile.getStatements(), profile.getDbMillis()));
+        }
+        return body;
+    }
+}
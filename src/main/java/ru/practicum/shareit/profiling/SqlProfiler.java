@@ -0,0 +1,87 @@
+package ru.practicum.shareit.profiling;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import ru.practicum.shareit.config.PersistenceWorkCounter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Collects statement timings from {@link ProfilingDataSource} into the profile of the request
+ * running on the current thread and keeps the most recent finished profiles in a ring, without
+ * locking. Statements are counted by {@link PersistenceWorkCounter}, which must have begun counting
+ * on the thread first. Statements slower than {@code shareit.sql.slow-threshold} are logged
+ * wherever they run.
+ */
+@Slf4j
+@Component
+public class SqlProfiler {
+
+    private final ThreadLocal<SqlProfile> current = new ThreadLocal<>();
+    private final PersistenceWorkCounter counter;
+    private final AtomicReferenceArray<SqlProfile> recent;
+    private final AtomicLong finished = new AtomicLong();
+    private final long slowNanos;
+    private final int keepSlowest;
+
+    public SqlProfiler(PersistenceWorkCounter counter,
+                       @Value("${shareit.sql.slow-threshold:500ms}") Duration slowThreshold,
+                       @Value("${shareit.sql.profile.slowest:5}") int keepSlowest,
+                       @Value("${shareit.sql.profile.recent:100}") int keepRecent) {
+        if (keepSlowest < 0 || keepRecent < 1) {
+            throw new IllegalArgumentException("SQL profiles need slowest >= 0 and recent >= 1");
+        }
+        this.counter = counter;
+        this.recent = new AtomicReferenceArray<>(keepRecent);
+        this.slowNanos = slowThreshold.toNanos();
+        this.keepSlowest = keepSlowest;
+    }
+
+    public SqlProfile begin(String method, String uri) {
+        SqlProfile profile = new SqlProfile(method, uri, keepSlowest, counter.current());
+        current.set(profile);
+        return profile;
+    }
+
+    public SqlProfile current() {
+        return current.get();
+    }
+
+    public void end(SqlProfile profile, String uri) {
+        current.remove();
+        profile.finish(uri);
+        long slot = finished.getAndIncrement();
+        recent.set((int) (slot % recent.length()), profile);
+    }
+
+    /**
+     * Newest first. Profiles finishing meanwhile may replace some of the oldest ones.
+     */
+    public List<SqlProfile> recent() {
+        long newest = finished.get();
+        List<SqlProfile> profiles = new ArrayList<>(recent.length());
+        for (long slot = newest - 1; slot >= 0 && slot >= newest - recent.length(); slot--) {
+            SqlProfile profile = recent.get((int) (slot % recent.length()));
+            if (profile != null) {
+                profiles.add(profile);
+            }
+        }
+        return profiles;
+    }
+
+    void record(String sql, long nanos) {
+        SqlProfile profile = current.get();
+        if (profile != null) {
+            profile.record(sql, nanos);
+        }
+        if (nanos >= slowNanos) {
+            log.warn("Slow SQL ({} ms): {}", nanos / 1_000_000, sql);
+        }
+    }
+}
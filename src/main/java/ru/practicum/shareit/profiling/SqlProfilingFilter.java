@@ -0,0 +1,38 @@
+package ru.practicum.shareit.profiling;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Profiles the SQL of every request. Runs inside {@link ru.practicum.shareit.config.RequestPersistenceMetricsFilter},
+ * whose statement count the profile reports. Statements run by streaming bodies on other threads are not included.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 30)
+@RequiredArgsConstructor
+public class SqlProfilingFilter extends OncePerRequestFilter {
+
+    private final SqlProfiler profiler;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlProfile profile = profiler.begin(request.getMethod(), request.getRequestURI());
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            profiler.end(profile, pattern == null ? null : pattern.toString());
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package ru.practicum.shareit.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Turns requests away before they queue up. While more than {@code shareit.load-shedding.max-in-flight}
+ * requests are being served, new ones are refused at once. While the mean wait for a pooled connection
+ * over the last sample ({@code hikaricp.connections.acquire}) exceeds {@code max-pool-wait}, a fraction
+ * of the requests is refused when it first asks for a connection, so requests that never touch the
+ * database are not. The fraction grows with the wait and halves with every sample below the threshold,
+ * so the load comes back gradually instead of all at once. A zero threshold disables its check.
+ * Requests continuing asynchronously, e.g. streaming bodies, count until their handler returns and
+ * are not shed by the pool wait.
+ */
+@Component
+public class LoadShedder {
+
+    private static final double MAX_SHED_FRACTION = 0.9;
+    private static final double MIN_SHED_FRACTION = 0.01;
+
+    private final int maxInFlight;
+    private final long maxPoolWaitNanos;
+    private final MeterRegistry meterRegistry;
+    private final Counter poolWaitShed;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ThreadLocal<Boolean> awaitingConnection = new ThreadLocal<>();
+    private final Map<Meter.Id, long[]> lastAcquires = new HashMap<>();
+    private volatile double shedFraction;
+
+    public LoadShedder(MeterRegistry meterRegistry,
+                       @Value("${shareit.load-shedding.max-in-flight:0}") int maxInFlight,
+                       @Value("${shareit.load-shedding.max-pool-wait:0s}") Duration maxPoolWait) {
+        this.meterRegistry = meterRegistry;
+        this.maxInFlight = maxInFlight;
+        this.maxPoolWaitNanos = maxPoolWait.toNanos();
+        this.poolWaitShed = meterRegistry.counter("shareit.http.rejected", "reason", "pool-wait");
+        Gauge.builder("shareit.http.in.flight", inFlight, AtomicInteger::get).register(meterRegistry);
+        Gauge.builder("shareit.http.pool.shed.fraction", this, shedder -> shedder.shedFraction)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Admits a request on this thread, which must then be {@link #exit exited}, unless too many are in flight.
+     */
+    public boolean tryEnter() {
+        int current = inFlight.incrementAndGet();
+        if (maxInFlight > 0 && current > maxInFlight) {
+            inFlight.decrementAndGet();
+            return false;
+        }
+        awaitingConnection.set(Boolean.TRUE);
+        return true;
+    }
+
+    public void exit() {
+        awaitingConnection.remove();
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Called before a connection is taken from the pool. The first one of an admitted request is
+     * refused with the current shed fraction; later ones, and those outside requests, never are.
+     */
+    public void beforeConnection() throws SQLTransientConnectionException {
+        if (awaitingConnection.get() == null) {
+            return;
+        }
+        awaitingConnection.remove();
+        double fraction = shedFraction;
+        if (fraction > 0 && ThreadLocalRandom.current().nextDouble() < fraction) {
+            poolWaitShed.increment();
+            throw new SQLTransientConnectionException("Connection pool saturated, request shed");
+        }
+    }
+
+    /**
+     * Compares the mean connection wait since the previous sample, per pool, with the threshold and
+     * moves the shed fraction accordingly.
+     */
+    @Scheduled(fixedDelayString = "${shareit.load-shedding.sample-interval-ms:1000}")
+    public synchronized void sample() {
+        if (maxPoolWaitNanos <= 0) {
+            return;
+        }
+        double overload = 0;
+        for (Timer acquire : meterRegistry.find("hikaricp.connections.acquire").timers()) {
+            long count = acquire.count();
+            long total = (long) acquire.totalTime(TimeUnit.NANOSECONDS);
+            long[] last = lastAcquires.put(acquire.getId(), new long[]{count, total});
+            if (last != null && count > last[0]) {
+                overload = Math.max(overload, (double) (total - last[1]) / (count - last[0]) / maxPoolWaitNanos);
+            }
+        }
+        double fraction = shedFraction;
+        if (overload > 1) {
+            // Twice the threshold sheds half of what is still admitted, ten times nine tenths.
+            fraction = Math.min(MAX_SHED_FRACTION, fraction + (1 - fraction) * (1 - 1 / overload));
+        } else {
+            fraction = fraction / 2 < MIN_SHED_FRACTION ? 0 : fraction / 2;
+        }
+        shedFraction = fraction;
+    }
+
+    public double getShedFraction() {
+        return shedFraction;
+    }
+}
@@ -0,0 +1,100 @@
+package ru.practicum.shareit.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static ru.practicum.shareit.util.Constants.SHARER_ID_HEADER;
+
+/**
+ * Limits each client, identified by {@code X-Sharer-User-Id} or by address (without the header, or
+ * in a group limited by address), to the rate of the endpoint group ({@code 429}), then sheds load
+ * beyond the {@link LoadShedder}'s in-flight limit ({@code 503}).
+ * Runs after the observation filter, so rejected requests still show up in {@code http.server.requests};
+ * rejections are also counted in {@code shareit.http.rejected} by reason. Actuator endpoints are exempt.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+    private final LoadShedder loadShedder;
+    private final boolean enabled;
+    private final Counter rateLimited;
+    private final Counter inFlightShed;
+
+    public RateLimitFilter(RateLimiter rateLimiter,
+                           LoadShedder loadShedder,
+                           RateLimitProperties properties,
+                           MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.loadShedder = loadShedder;
+        this.enabled = properties.isEnabled();
+        this.rateLimited = meterRegistry.counter("shareit.http.rejected", "reason", "rate-limit");
+        this.inFlightShed = meterRegistry.counter("shareit.http.rejected", "reason", "in-flight");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (enabled) {
+            RateLimiter.Group group = rateLimiter.groupFor(request.getRequestURI());
+            String address = request.getRemoteAddr();
+            long wait = group.tryAcquire(group.isByAddress() ? address : client(request, address), address,
+                    System.nanoTime());
+            if (wait > 0) {
+                rateLimited.increment();
+                reject(response, HttpStatus.TOO_MANY_REQUESTS, wait, "Too many requests");
+                return;
+            }
+        }
+        if (!loadShedder.tryEnter()) {
+            inFlightShed.increment();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, 1_000_000_000L, "Service overloaded, retry later");
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            loadShedder.exit();
+        }
+    }
+
+    private static Object client(HttpServletRequest request, String address) {
+        String userId = request.getHeader(SHARER_ID_HEADER);
+        if (userId != null) {
+            try {
+                return Long.valueOf(userId);
+            } catch (NumberFormatException e) {
+                // Not a user the controllers would accept either; limit it by address.
+            }
+        }
+        return address;
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, long waitNanos, String message)
+            throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf((waitNanos + 999_999_999L) / 1_000_000_000L));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getOutputStream().write(("{\"error\":\"" + message + "\"}").getBytes(StandardCharsets.UTF_8));
+    }
+}
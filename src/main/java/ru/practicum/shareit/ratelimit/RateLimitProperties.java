@@ -0,0 +1,39 @@
+package ru.practicum.shareit.ratelimit;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-client limits: the {@code paths} of {@code endpoints} are checked in order as prefixes of the
+ * request path, everything else shares the {@code defaults} bucket of the client. A group
+ * {@code by-address} limits clients by address even when they send a user id. Once a group holds
+ * {@code max-buckets} buckets, new user ids get none and are limited by their address's bucket
+ * until the next sweep; addresses always get one.
+ */
+@Data
+@Component
+@ConfigurationProperties("shareit.rate-limit")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class RateLimitProperties {
+    boolean enabled = true;
+    int maxBuckets = 100_000;
+    Limit defaults = new Limit();
+    Map<String, Limit> endpoints = new LinkedHashMap<>();
+
+    @Data
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Limit {
+        List<String> paths = new ArrayList<>();
+        double rate = 50;
+        int burst = 100;
+        boolean byAddress;
+    }
+}
@@ -0,0 +1,127 @@
+package ru.practicum.shareit.ratelimit;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Token buckets per client and endpoint group, created on first use and dropped by a periodic
+ * sweep once they have refilled. A request racing the sweep may take its token from a bucket
+ * just dropped, so a client can exceed its limit by a token per sweep.
+ * <p>
+ * User ids are not authenticated, so a bucket for a new id also costs a token of the address it
+ * comes from: rotating ids is limited like the address, and the buckets it leaves behind grow at
+ * the address's rate, up to {@code max-buckets} per group. Past that, new ids are limited by their
+ * address's bucket alone until the sweep makes room; addresses always get a bucket.
+ */
+@Component
+public class RateLimiter {
+
+    private final List<Group> groups = new ArrayList<>();
+    private final Group defaults;
+
+    public RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        int maxBuckets = properties.getMaxBuckets();
+        properties.getEndpoints().forEach((name, limit) -> groups.add(new Group(name, limit, maxBuckets)));
+        defaults = new Group("default", properties.getDefaults(), maxBuckets);
+        Gauge.builder("shareit.ratelimit.buckets", this, RateLimiter::bucketCount).register(meterRegistry);
+    }
+
+    /**
+     * The group whose buckets limit requests to the path.
+     */
+    public Group groupFor(String path) {
+        for (Group group : groups) {
+            if (group.matches(path)) {
+                return group;
+            }
+        }
+        return defaults;
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.rate-limit.eviction-interval-ms:60000}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        groups.forEach(group -> group.evictFull(now));
+        defaults.evictFull(now);
+    }
+
+    private int bucketCount() {
+        return groups.stream().mapToInt(group -> group.buckets.size()).sum() + defaults.buckets.size();
+    }
+
+    public static final class Group {
+        private final String name;
+        private final List<String> paths;
+        private final long interval;
+        private final long capacity;
+        private final boolean byAddress;
+        private final int maxBuckets;
+        private final Map<Object, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+        private Group(String name, RateLimitProperties.Limit limit, int maxBuckets) {
+            if (limit.getRate() <= 0 || limit.getBurst() <= 0) {
+                throw new IllegalArgumentException("Rate limit " + name + " needs a positive rate and burst");
+            }
+            this.name = name;
+            this.paths = List.copyOf(limit.getPaths());
+            this.interval = (long) (1_000_000_000L / limit.getRate());
+            this.capacity = interval * limit.getBurst();
+            this.byAddress = limit.isByAddress();
+            this.maxBuckets = maxBuckets;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Whether clients are told apart by address only, for endpoints that do not need the user.
+         */
+        public boolean isByAddress() {
+            return byAddress;
+        }
+
+        /**
+         * Takes a token from the client's bucket, or returns the nanoseconds until one is available.
+         * A client without a bucket first takes one from its address, which is all it takes while the
+         * group is full.
+         */
+        public long tryAcquire(Object client, String address, long now) {
+            TokenBucket bucket = buckets.get(client);
+            if (bucket == null) {
+                if (!client.equals(address)) {
+                    long wait = tryAcquire(address, address, now);
+                    if (wait > 0 || buckets.size() >= maxBuckets) {
+                        return wait;
+                    }
+                }
+                bucket = buckets.computeIfAbsent(client, key -> new TokenBucket(now));
+            }
+            return bucket.tryAcquire(now, interval, capacity);
+        }
+
+        /**
+         * Whether the path is one of the group's paths or lies below one.
+         */
+        private boolean matches(String path) {
+            for (String prefix : paths) {
+                if (path.startsWith(prefix)
+                        && (path.length() == prefix.length() || path.charAt(prefix.length()) == '/')) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void evictFull(long now) {
+            buckets.values().removeIf(bucket -> bucket.isFull(now));
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Asks the {@link LoadShedder} before handing out a connection; a refusal surfaces like a pool
+ * timeout, as a transient connection failure answered with {@code 503}.
+ */
+public class SheddingDataSource extends DelegatingDataSource {
+
+    private final LoadShedder loadShedder;
+
+    public SheddingDataSource(DataSource target, LoadShedder loadShedder) {
+        super(target);
+        this.loadShedder = loadShedder;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        loadShedder.beforeConnection();
+        return obtainTargetDataSource().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        loadShedder.beforeConnection();
+        return obtainTargetDataSource().getConnection(username, password);
+    }
+}
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application {@link DataSource} in a {@link SheddingDataSource}, like the profiling one:
+ * the only one, or the primary one in front of the pools.
+ */
+@Component
+public class SheddingDataSourcePostProcessor implements BeanPostProcessor, BeanFactoryAware {
+
+    private final ObjectProvider<LoadShedder> loadShedder;
+    private ConfigurableListableBeanFactory beanFactory;
+
+    public SheddingDataSourcePostProcessor(ObjectProvider<LoadShedder> loadShedder) {
+        this.loadShedder = loadShedder;
+    }
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        this.beanFactory = (ConfigurableListableBeanFactory) beanFactory;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof SheddingDataSource)
+                && isApplicationDataSource(beanName)) {
+            return new SheddingDataSource(dataSource, loadShedder.getObject());
+        }
+        return bean;
+    }
+
+    private boolean isApplicationDataSource(String beanName) {
+        return beanFactory.getBeanNamesForType(DataSource.class, true, false).length == 1
+                || beanFactory.containsBeanDefinition(beanName) && beanFactory.getBeanDefinition(beanName).isPrimary();
+    }
+}
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A token bucket kept as the single time at which it will be full again (the generic cell rate
+ * algorithm), so taking a token is one compare-and-set. Each token moves that time forward by
+ * {@code interval}; a request is refused while the time is more than {@code capacity} ahead.
+ */
+final class TokenBucket {
+
+    private final AtomicLong fullAt;
+
+    TokenBucket(long now) {
+        this.fullAt = new AtomicLong(now);
+    }
+
+    /**
+     * Takes a token, or returns how many nanoseconds to wait for one without taking it.
+     */
+    long tryAcquire(long now, long interval, long capacity) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + interval;
+            long excess = next - now - capacity;
+            if (excess > 0) {
+                return excess;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * A full bucket behaves like a new one, so it can be dropped without losing anything.
+     */
+    boolean isFull(long now) {
+        return fullAt.get() <= now;
+    }
+}
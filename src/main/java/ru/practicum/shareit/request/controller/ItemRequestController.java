@@ -1,14 +1,22 @@
 package ru.practicum.shareit.request.controller;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.RequestCursor;
+import ru.practicum.shareit.request.dto.RequestSuggestionDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
 
 import java.util.List;
 
+import static ru.practicum.shareit.util.Constants.DEFAULT_SIZE;
+import static ru.practicum.shareit.util.Constants.MAX_PAGE_SIZE;
+import static ru.practicum.shareit.util.Constants.NEXT_CURSOR_HEADER;
 import static ru.practicum.shareit.util.Constants.SHARER_ID_HEADER;
 
 @Validated
@@ -31,13 +39,34 @@ public class ItemRequestController {
     }
 
     @GetMapping("/{requestId}")
-    public ItemRequestDto getById(@PathVariable Long itemRequestId,
+    public ItemRequestDto getById(@PathVariable Long requestId,
                                   @RequestHeader(SHARER_ID_HEADER) Long userId) {
-        return requestService.getById(itemRequestId, userId);
+        return requestService.getById(requestId, userId);
     }
 
+    /**
+     * Other users' requests, newest first; a full page carries the cursor of its last request.
+     */
     @GetMapping("/all")
-    public List<ItemRequestDto> getAllUserRequests(@RequestHeader(SHARER_ID_HEADER) Long userId) {
-        return requestService.getAllUserRequests(userId);
+    public ResponseEntity<List<ItemRequestDto>> getAllUserRequests(
+            @RequestHeader(SHARER_ID_HEADER) Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_SIZE) @Positive @Max(MAX_PAGE_SIZE) int size) {
+        List<ItemRequestDto> requests = requestService.getAllUserRequests(userId, RequestCursor.decode(cursor), size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (requests.size() == size) {
+            response.header(NEXT_CURSOR_HEADER, RequestCursor.after(requests.get(requests.size() - 1)).encode());
+        }
+        return response.body(requests);
+    }
+
+    /**
+     * Items the matcher suggested for the user's open requests, newest first.
+     */
+    @GetMapping("/suggestions")
+    public List<RequestSuggestionDto> getSuggestions(
+            @RequestHeader(SHARER_ID_HEADER) Long userId,
+            @RequestParam(defaultValue = DEFAULT_SIZE) @Positive @Max(MAX_PAGE_SIZE) int size) {
+        return requestService.getSuggestions(userId, size);
     }
 }
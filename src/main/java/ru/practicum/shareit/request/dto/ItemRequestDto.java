@@ -3,10 +3,19 @@ package ru.practicum.shareit.request.dto;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class ItemRequestDto {
     Long id;
@@ -16,4 +25,15 @@ public class ItemRequestDto {
 
     @NotNull(message = "User id required")
     Long userId;
-}
\ No newline at end of file
+
+    LocalDateTime created;
+
+    /**
+     * Items created in answer to the request.
+     */
+    List<ItemDto> items = new ArrayList<>();
+
+    public ItemRequestDto(Long id, String description, Long userId, LocalDateTime created) {
+        this(id, description, userId, created, new ArrayList<>());
+    }
+}
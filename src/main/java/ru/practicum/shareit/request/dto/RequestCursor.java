@@ -0,0 +1,37 @@
+package ru.practicum.shareit.request.dto;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Keyset position in a request feed ordered by created and id, both descending.
+ * Encoded as {@code <created>_<id>}, e.g. {@code 2024-05-01T10:00:00.123456_42}.
+ */
+@Value
+public class RequestCursor {
+    LocalDateTime created;
+    Long id;
+
+    public static RequestCursor after(ItemRequestDto request) {
+        return new RequestCursor(request.getCreated(), request.getId());
+    }
+
+    public static RequestCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        int separator = cursor.lastIndexOf('_');
+        try {
+            return new RequestCursor(LocalDateTime.parse(cursor.substring(0, separator)),
+                    Long.parseLong(cursor.substring(separator + 1)));
+        } catch (DateTimeParseException | IndexOutOfBoundsException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    public String encode() {
+        return created + "_" + id;
+    }
+}
@@ -4,6 +4,9 @@ import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
 public class ItemRequestMapper {
 
     public static ItemRequestDto toItemRequestDto(ItemRequest itemRequest) {
@@ -11,6 +14,7 @@ public class ItemRequestMapper {
         dto.setId(itemRequest.getId());
         dto.setDescription(itemRequest.getDescription());
         dto.setUserId(itemRequest.getRequestor().getId());
+        dto.setCreated(itemRequest.getCreated());
         return dto;
     }
 
@@ -19,6 +23,8 @@ public class ItemRequestMapper {
         itemRequest.setId(dto.getId());
         itemRequest.setDescription(dto.getDescription());
         itemRequest.setRequestor(user);
+        // Microseconds, as the database stores them, so a cursor built from the response matches the row.
+        itemRequest.setCreated(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
         return itemRequest;
     }
 }
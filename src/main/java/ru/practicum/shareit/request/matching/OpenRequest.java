@@ -0,0 +1,10 @@
+package ru.practicum.shareit.request.matching;
+
+import lombok.Value;
+
+@Value
+public class OpenRequest {
+    Long id;
+    Long requestorId;
+    String description;
+}
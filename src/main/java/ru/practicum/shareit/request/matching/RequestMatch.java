@@ -0,0 +1,10 @@
+package ru.practicum.shareit.request.matching;
+
+import lombok.Value;
+
+@Value
+public class RequestMatch {
+    Long requestId;
+    Long requestorId;
+    double score;
+}
@@ -0,0 +1,321 @@
+package ru.practicum.shareit.request.matching;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.util.AfterCommit;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Token index over the descriptions of open requests, those no item has answered yet.
+ * <p>
+ * A text is scored against each request sharing a word with it: the IDF weight of the shared words
+ * over the IDF weight of all the request's words, so 1 means every word of the request occurs in
+ * the text and rare words count more than common ones. Words in more than
+ * {@code shareit.requests.matching.max-postings} requests carry almost no weight and would dominate
+ * the cost, so they are not looked up, though they still count towards the request's weight.
+ * Weights are kept per word and refreshed when the number of requests has moved by a hundredth.
+ * <p>
+ * The index is filled from the primary once and then follows the requests and items created by this
+ * instance only, so it assumes a single application instance.
+ */
+@Slf4j
+@Component
+public class RequestMatchIndex {
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private final ItemRequestRepository requestRepository;
+    private final TransactionTemplate primaryReads;
+    private final boolean enabled;
+    private final int maxPostings;
+    private final double minScore;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> tokenIds = new HashMap<>();
+    private final List<Postings> postings = new ArrayList<>();
+    private double[] weights = new double[64];
+    private int weightsSize;
+    private final Map<Long, Integer> documents = new HashMap<>();
+    private long[] requestIds = new long[64];
+    private long[] requestorIds = new long[64];
+    private int[][] documentTokens = new int[64][];
+    private int[] freeDocuments = new int[16];
+    private int freeCount;
+    private int documentCount;
+    private volatile int size;
+
+    public RequestMatchIndex(ItemRequestRepository requestRepository,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${shareit.requests.matching.enabled:true}") boolean enabled,
+                             @Value("${shareit.requests.matching.max-postings:1000}") int maxPostings,
+                             @Value("${shareit.requests.matching.min-score:0.5}") double minScore) {
+        this.requestRepository = requestRepository;
+        this.primaryReads = new TransactionTemplate(transactionManager);
+        this.primaryReads.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.enabled = enabled;
+        this.maxPostings = maxPostings;
+        this.minScore = minScore;
+        Gauge.builder("shareit.requests.matching.open", this, index -> index.size).register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        // A read-write transaction keeps the load on the primary; a lagging replica would miss requests.
+        primaryReads.executeWithoutResult(status -> {
+            long lastId = 0;
+            List<OpenRequest> batch;
+            do {
+                batch = requestRepository.findOpenAfter(lastId, Limit.of(LOAD_BATCH_SIZE));
+                for (OpenRequest request : batch) {
+                    put(request);
+                    lastId = request.getId();
+                }
+            } while (batch.size() == LOAD_BATCH_SIZE);
+        });
+        log.info("Request match index loaded: {} open requests, {} words", size, tokenIds.size());
+    }
+
+    public void add(OpenRequest request) {
+        if (enabled) {
+            AfterCommit.run(() -> put(request));
+        }
+    }
+
+    /**
+     * Drops a request once an item answered it.
+     */
+    public void remove(Long requestId) {
+        if (enabled) {
+            AfterCommit.run(() -> delete(requestId));
+        }
+    }
+
+    /**
+     * The best-scoring open requests of other users than {@code ownerId}, at least
+     * {@code min-score}, best first.
+     */
+    public List<RequestMatch> match(String text, Long ownerId, int limit) {
+        long owner = ownerId == null ? Long.MIN_VALUE : ownerId;
+        lock.readLock().lock();
+        try {
+            List<Postings> lookedUp = new ArrayList<>();
+            List<Double> lookedUpWeights = new ArrayList<>();
+            int candidates = 0;
+            for (String token : RequestTokens.of(text)) {
+                Integer tokenId = tokenIds.get(token);
+                if (tokenId == null) {
+                    continue;
+                }
+                Postings documentIds = postings.get(tokenId);
+                if (documentIds.size == 0 || documentIds.size > maxPostings) {
+                    continue;
+                }
+                lookedUp.add(documentIds);
+                lookedUpWeights.add(weights[tokenId]);
+                candidates += documentIds.size;
+            }
+            if (candidates == 0) {
+                return List.of();
+            }
+            Accumulator shared = new Accumulator(candidates);
+            for (int t = 0; t < lookedUp.size(); t++) {
+                Postings documentIds = lookedUp.get(t);
+                double weight = lookedUpWeights.get(t);
+                for (int i = 0; i < documentIds.size; i++) {
+                    shared.add(documentIds.ids[i], weight);
+                }
+            }
+            PriorityQueue<RequestMatch> best = new PriorityQueue<>(Comparator.comparingDouble(RequestMatch::getScore));
+            for (int slot = 0; slot < shared.keys.length; slot++) {
+                int document = shared.keys[slot] - 1;
+                if (document < 0 || requestorIds[document] == owner) {
+                    continue;
+                }
+                double total = 0;
+                for (int tokenId : documentTokens[document]) {
+                    total += weights[tokenId];
+                }
+                double score = total == 0 ? 0 : shared.values[slot] / total;
+                if (score >= minScore && (best.size() < limit || score > best.peek().getScore())) {
+                    best.add(new RequestMatch(requestIds[document], requestorIds[document], score));
+                    if (best.size() > limit) {
+                        best.poll();
+                    }
+                }
+            }
+            List<RequestMatch> result = new ArrayList<>(best);
+            result.sort(Comparator.comparingDouble(RequestMatch::getScore).reversed());
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void put(OpenRequest request) {
+        lock.writeLock().lock();
+        try {
+            if (documents.containsKey(request.getId())) {
+                return;
+            }
+            int[] tokens = RequestTokens.of(request.getDescription()).stream()
+                    .mapToInt(this::tokenId)
+                    .toArray();
+            if (tokens.length == 0) {
+                return;
+            }
+            int document = freeCount > 0 ? freeDocuments[--freeCount] : newDocument();
+            requestIds[document] = request.getId();
+            requestorIds[document] = request.getRequestorId();
+            documentTokens[document] = tokens;
+            for (int tokenId : tokens) {
+                postings.get(tokenId).add(document);
+            }
+            documents.put(request.getId(), document);
+            resized(tokens);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void delete(Long requestId) {
+        lock.writeLock().lock();
+        try {
+            Integer document = documents.remove(requestId);
+            if (document == null) {
+                return;
+            }
+            int[] tokens = documentTokens[document];
+            for (int tokenId : tokens) {
+                postings.get(tokenId).remove(document);
+            }
+            documentTokens[document] = null;
+            requestorIds[document] = 0;
+            if (freeCount == freeDocuments.length) {
+                freeDocuments = Arrays.copyOf(freeDocuments, freeCount * 2);
+            }
+            freeDocuments[freeCount++] = document;
+            resized(tokens);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int tokenId(String token) {
+        return tokenIds.computeIfAbsent(token, t -> {
+            postings.add(new Postings());
+            if (postings.size() > weights.length) {
+                weights = Arrays.copyOf(weights, weights.length * 2);
+            }
+            return postings.size() - 1;
+        });
+    }
+
+    private int newDocument() {
+        if (documentCount == requestIds.length) {
+            int capacity = documentCount * 2;
+            requestIds = Arrays.copyOf(requestIds, capacity);
+            requestorIds = Arrays.copyOf(requestorIds, capacity);
+            documentTokens = Arrays.copyOf(documentTokens, capacity);
+        }
+        return documentCount++;
+    }
+
+    /**
+     * Updates the weights of the words whose document frequency changed, or of every word once the
+     * number of requests has drifted from the one they were computed for.
+     */
+    private void resized(int[] changedTokens) {
+        size = documents.size();
+        if (Math.abs(size - weightsSize) * 100L > weightsSize) {
+            weightsSize = size;
+            for (int tokenId = 0; tokenId < postings.size(); tokenId++) {
+                weights[tokenId] = weight(postings.get(tokenId).size);
+            }
+        } else {
+            for (int tokenId : changedTokens) {
+                weights[tokenId] = weight(postings.get(tokenId).size);
+            }
+        }
+    }
+
+    private double weight(int documentFrequency) {
+        return documentFrequency == 0 ? 0 : Math.log(1 + (double) weightsSize / documentFrequency);
+    }
+
+    /**
+     * Document ids of one word, unordered.
+     */
+    private static final class Postings {
+        private int[] ids = new int[2];
+        private int size;
+
+        private void add(int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        private void remove(int id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    ids[i] = ids[--size];
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Open-addressing map from document id (stored plus one, so zero marks a free slot) to the
+     * weight shared with the text.
+     */
+    private static final class Accumulator {
+        private final int[] keys;
+        private final double[] values;
+        private final int mask;
+
+        private Accumulator(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(expected, 8) * 2 - 1) << 1;
+            keys = new int[capacity];
+            values = new double[capacity];
+            mask = capacity - 1;
+        }
+
+        private void add(int document, double weight) {
+            int key = document + 1;
+            int slot = (key * 0x9E3779B9) >>> 1 & mask;
+            while (keys[slot] != 0 && keys[slot] != key) {
+                slot = slot + 1 & mask;
+            }
+            keys[slot] = key;
+            values[slot] += weight;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package ru.practicum.shareit.request.matching;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Matches newly created items against the open requests, in the creator's transaction, and records
+ * the best matches as suggestions for the requestors. An item created for a request answers it,
+ * so that request leaves the index once the transaction commits.
+ */
+@Component
+public class RequestSuggester {
+
+    private final RequestMatchIndex matchIndex;
+    private final RequestSuggestionRepository suggestionRepository;
+    private final int suggestionsPerItem;
+    private final Timer matchTimer;
+    private final Counter suggested;
+
+    public RequestSuggester(RequestMatchIndex matchIndex,
+                            RequestSuggestionRepository suggestionRepository,
+                            MeterRegistry meterRegistry,
+                            @Value("${shareit.requests.matching.suggestions-per-item:5}") int suggestionsPerItem) {
+        this.matchIndex = matchIndex;
+        this.suggestionRepository = suggestionRepository;
+        this.suggestionsPerItem = suggestionsPerItem;
+        this.matchTimer = Timer.builder("shareit.requests.matching.match")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.suggested = meterRegistry.counter("shareit.requests.matching.suggestions");
+    }
+
+    public void onItemsCreated(Collection<Item> items) {
+        LocalDateTime now = LocalDateTime.now();
+        List<RequestSuggestion> suggestions = new ArrayList<>();
+        for (Item item : items) {
+            Long answered = item.getRequest() == null ? null : item.getRequest().getId();
+            if (answered != null) {
+                matchIndex.remove(answered);
+            }
+            if (!Boolean.TRUE.equals(item.getAvailable())) {
+                continue;
+            }
+            List<RequestMatch> matches = matchTimer.record(() -> matchIndex.match(
+                    item.getName() + " " + Objects.toString(item.getDescription(), ""), item.getOwner().getId(), suggestionsPerItem + 1));
+            int added = 0;
+            for (RequestMatch match : matches) {
+                if (match.getRequestId().equals(answered) || added == suggestionsPerItem) {
+                    continue;
+                }
+                RequestSuggestion suggestion = new RequestSuggestion();
+                suggestion.setRequestId(match.getRequestId());
+                suggestion.setItemId(item.getId());
+                suggestion.setScore(match.getScore());
+                suggestion.setCreated(now);
+                suggestions.add(suggestion);
+                added++;
+            }
+        }
+        if (!suggestions.isEmpty()) {
+            suggestionRepository.saveAll(suggestions);
+            suggested.increment(suggestions.size());
+        }
+    }
+}
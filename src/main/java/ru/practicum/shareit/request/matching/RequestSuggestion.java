@@ -0,0 +1,36 @@
+package ru.practicum.shareit.request.matching;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+/**
+ * An item the matcher found for an open request, shown to the requestor until they look elsewhere.
+ */
+@Data
+@Entity
+@Table(name = "request_suggestions",
+        indexes = @Index(name = "ix_request_suggestions_request", columnList = "request_id, created"),
+        uniqueConstraints = @UniqueConstraint(name = "uq_request_suggestions",
+                columnNames = {"request_id", "item_id"}))
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class RequestSuggestion {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    Long id;
+
+    @Column(name = "request_id", nullable = false)
+    Long requestId;
+
+    @Column(name = "item_id", nullable = false)
+    Long itemId;
+
+    @Column(nullable = false)
+    Double score;
+
+    @Column(nullable = false)
+    LocalDateTime created;
+}
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.request.matching;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.request.dto.RequestSuggestionDto;
+
+import java.util.List;
+
+public interface RequestSuggestionRepository extends JpaRepository<RequestSuggestion, Long> {
+    @Query("""
+            SELECT new ru.practicum.shareit.request.dto.RequestSuggestionDto(s.requestId, s.itemId, i.name,
+                s.score, s.created)
+            FROM RequestSuggestion s, ItemRequest r, Item i
+            WHERE r.id = s.requestId
+              AND i.id = s.itemId
+              AND r.requestor.id = :requestorId
+              AND NOT EXISTS (SELECT a.id FROM Item a WHERE a.request = r)
+            ORDER BY s.created DESC, s.id DESC
+            """)
+    List<RequestSuggestionDto> findDtosByRequestorId(@Param("requestorId") Long requestorId, Limit limit);
+}
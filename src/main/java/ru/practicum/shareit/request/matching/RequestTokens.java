@@ -0,0 +1,44 @@
+package ru.practicum.shareit.request.matching;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Splits text into distinct lower-case words of at least three letters or digits, leaving out
+ * the filler words requests are phrased with.
+ */
+final class RequestTokens {
+    private static final int MIN_LENGTH = 3;
+    private static final Set<String> STOP_WORDS = Set.of(
+            "the", "and", "for", "with", "need", "needed", "want", "looking", "some", "any", "please", "can",
+            "borrow", "rent", "who", "has", "have", "that", "this", "from", "will", "would", "day", "days",
+            "для", "нужен", "нужна", "нужно", "нужны", "ищу", "кто", "есть", "или", "дней", "день");
+
+    private RequestTokens() {
+    }
+
+    static Set<String> of(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text == null) {
+            return tokens;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                if (i - start >= MIN_LENGTH) {
+                    String token = lower.substring(start, i);
+                    if (!STOP_WORDS.contains(token)) {
+                        tokens.add(token);
+                    }
+                }
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+}
@@ -4,11 +4,17 @@ import jakarta.persistence.*;
 import lombok.AccessLevel;
 import lombok.Data;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.LocalDateTime;
+
 @Data
 @Entity
-@Table(name = "requests")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "requests")
+@Table(name = "requests", indexes = @Index(name = "ix_requests_created", columnList = "created, id"))
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class ItemRequest {
     @Id
@@ -19,6 +25,13 @@ public class ItemRequest {
     String description;
 
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "user_id", nullable = false)
+    @JoinColumn(name = "requestor_id", nullable = false)
     User requestor;
+
+    @Column(nullable = false)
+    LocalDateTime created;
+
+    @Version
+    @Column(nullable = false)
+    Long version;
 }
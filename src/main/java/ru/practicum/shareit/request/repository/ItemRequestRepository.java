@@ -1,12 +1,59 @@
 package ru.practicum.shareit.request.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.matching.OpenRequest;
 import ru.practicum.shareit.request.model.ItemRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
-    List<ItemRequest> findAllByRequestorId(Long requestorId);
+    @Query("""
+            SELECT new ru.practicum.shareit.request.dto.ItemRequestDto(r.id, r.description, r.requestor.id, r.created)
+            FROM ItemRequest r
+            WHERE r.requestor.id = :requestorId
+            ORDER BY r.id DESC
+            """)
+    List<ItemRequestDto> findDtosByRequestorId(@Param("requestorId") Long requestorId);
 
     ItemRequest getByIdAndRequestorId(Long requestId, Long requestorId);
+
+    /**
+     * Requests of everyone but the user, newest first; walks ix_requests_created backwards.
+     */
+    @Query("""
+            SELECT new ru.practicum.shareit.request.dto.ItemRequestDto(r.id, r.description, r.requestor.id, r.created)
+            FROM ItemRequest r
+            WHERE r.requestor.id <> :userId
+            ORDER BY r.created DESC, r.id DESC
+            """)
+    List<ItemRequestDto> findOthersPage(@Param("userId") Long userId, Limit limit);
+
+    @Query("""
+            SELECT new ru.practicum.shareit.request.dto.ItemRequestDto(r.id, r.description, r.requestor.id, r.created)
+            FROM ItemRequest r
+            WHERE r.requestor.id <> :userId
+              AND (r.created < :created OR r.created = :created AND r.id < :id)
+            ORDER BY r.created DESC, r.id DESC
+            """)
+    List<ItemRequestDto> findOthersPageAfter(@Param("userId") Long userId,
+                                             @Param("created") LocalDateTime created,
+                                             @Param("id") Long id,
+                                             Limit limit);
+
+    /**
+     * Requests no item has answered yet, by id.
+     */
+    @Query("""
+            SELECT new ru.practicum.shareit.request.matching.OpenRequest(r.id, r.requestor.id, r.description)
+            FROM ItemRequest r
+            WHERE r.id > :afterId
+              AND NOT EXISTS (SELECT i.id FROM Item i WHERE i.request = r)
+            ORDER BY r.id
+            """)
+    List<OpenRequest> findOpenAfter(@Param("afterId") Long afterId, Limit limit);
 }
@@ -1,6 +1,8 @@
 package ru.practicum.shareit.request.service;
 
 import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.RequestCursor;
+import ru.practicum.shareit.request.dto.RequestSuggestionDto;
 
 import java.util.List;
 
@@ -11,5 +13,7 @@ public interface ItemRequestService {
 
     ItemRequestDto getById(Long itemRequestId, Long userId);
 
-    List<ItemRequestDto> getAllUserRequests(Long userId);
+    List<ItemRequestDto> getAllUserRequests(Long userId, RequestCursor cursor, int size);
+
+    List<RequestSuggestionDto> getSuggestions(Long userId, int size);
 }
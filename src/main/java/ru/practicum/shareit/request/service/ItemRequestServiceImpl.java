@@ -1,17 +1,27 @@
 package ru.practicum.shareit.request.service;
 
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.RequestCursor;
+import ru.practicum.shareit.request.dto.RequestSuggestionDto;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
+import ru.practicum.shareit.request.matching.OpenRequest;
+import ru.practicum.shareit.request.matching.RequestMatchIndex;
+import ru.practicum.shareit.request.matching.RequestSuggestionRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserServiceImpl;
 
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -19,40 +29,71 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ItemRequestServiceImpl implements ItemRequestService {
 
+    static final int ITEMS_BATCH_SIZE = 1000;
+
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemRepository itemRepository;
     private final UserServiceImpl userService;
+    private final RequestMatchIndex matchIndex;
+    private final RequestSuggestionRepository suggestionRepository;
 
     @Override
     public ItemRequestDto create(ItemRequestDto dto, Long userId) {
         User requestor = userService.findEntityById(userId);
         ItemRequest itemRequest = ItemRequestMapper.toItemRequest(dto, requestor);
         ItemRequest saved = itemRequestRepository.save(itemRequest);
+        matchIndex.add(new OpenRequest(saved.getId(), userId, saved.getDescription()));
         return ItemRequestMapper.toItemRequestDto(saved);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ItemRequestDto> getAllRequestsByUser(Long userId) {
-        List<ItemRequestDto> allRequestsByUser = itemRequestRepository.findAllByRequestorId(userId).stream()
-                .map(ItemRequestMapper::toItemRequestDto)
-                .collect(Collectors.toList());
-        return allRequestsByUser;
+        return withItems(itemRequestRepository.findDtosByRequestorId(userId));
     }
 
+    @Override
+    @Transactional(readOnly = true)
     public ItemRequestDto getById(Long requestId, Long userId) {
         ItemRequest itemRequest = itemRequestRepository.getByIdAndRequestorId(requestId, userId);
         if (itemRequest == null) {
             throw new NoSuchElementException("Item request not found");
         }
         ItemRequestDto dto = ItemRequestMapper.toItemRequestDto(itemRequest);
+        withItems(List.of(dto));
         return dto;
     }
 
+    /**
+     * Requests of the other users, newest first.
+     */
     @Override
-    public List<ItemRequestDto> getAllUserRequests(Long userId) {
-        List<ItemRequestDto> allUserRequests = itemRequestRepository.findAllByRequestorId(userId).stream()
-                .map(ItemRequestMapper::toItemRequestDto)
-                .collect(Collectors.toList());
-        return allUserRequests;
+    @Transactional(readOnly = true)
+    public List<ItemRequestDto> getAllUserRequests(Long userId, RequestCursor cursor, int size) {
+        return withItems(cursor == null
+                ? itemRequestRepository.findOthersPage(userId, Limit.of(size))
+                : itemRequestRepository.findOthersPageAfter(userId, cursor.getCreated(), cursor.getId(),
+                        Limit.of(size)));
+    }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<RequestSuggestionDto> getSuggestions(Long userId, int size) {
+        return suggestionRepository.findDtosByRequestorId(userId, Limit.of(size));
+    }
+
+    /**
+     * Embeds the answering items with one query per {@value #ITEMS_BATCH_SIZE} requests.
+     */
+    private List<ItemRequestDto> withItems(List<ItemRequestDto> requests) {
+        Map<Long, ItemRequestDto> byId = requests.stream()
+                .collect(Collectors.toMap(ItemRequestDto::getId, Function.identity()));
+        List<Long> ids = requests.stream().map(ItemRequestDto::getId).toList();
+        for (int from = 0; from < ids.size(); from += ITEMS_BATCH_SIZE) {
+            List<ItemDto> items = itemRepository.findDtosByRequestIdIn(
+                    ids.subList(from, Math.min(from + ITEMS_BATCH_SIZE, ids.size())));
+            items.forEach(item -> byId.get(item.getRequestId()).getItems().add(item));
+        }
+        return requests;
     }
 }
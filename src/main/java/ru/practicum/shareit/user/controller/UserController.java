@@ -2,8 +2,12 @@ package ru.practicum.shareit.user.controller;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.etag.ResourceETags;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
 
@@ -16,6 +20,7 @@ import java.util.List;
 public class UserController {
 
     private final UserService userService;
+    private final ResourceETags etags;
 
     @PostMapping
     public UserDto create(@Valid @RequestBody UserDto userDto) {
@@ -23,7 +28,9 @@ public class UserController {
     }
 
     @PatchMapping("/{id}")
-    public UserDto update(@PathVariable Long id, @RequestBody UserDto userDto) {
+    public UserDto update(@PathVariable Long id, @RequestBody UserDto userDto,
+                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        userDto.setExpectedVersions(ResourceETags.versions(ifMatch));
         return userService.update(id, userDto);
     }
 
@@ -32,9 +39,22 @@ public class UserController {
         return userService.findAll();
     }
 
+    /**
+     * Answers {@code If-None-Match} with 304 from the known version when it can, before loading the user.
+     */
     @GetMapping("/{id}")
-    public UserDto findById(@PathVariable Long id) {
-        return userService.findById(id);
+    public ResponseEntity<UserDto> findById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            String known = etags.knownUser(id);
+            if (ResourceETags.matches(ifNoneMatch, known)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(known).build();
+            }
+        }
+        UserDto user = userService.findById(id);
+        // A match against the loaded version is answered with 304 by Spring as well.
+        return ResponseEntity.ok().eTag(ResourceETags.of(user)).body(user);
     }
 
     @DeleteMapping("/{id}")
@@ -1,12 +1,17 @@
 package ru.practicum.shareit.user.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AccessLevel;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import lombok.experimental.FieldDefaults;
 
+import java.util.Set;
+
 @Data
+@NoArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class UserDto {
     Long id;
@@ -17,4 +22,21 @@ public class UserDto {
     @NotBlank(message = "Email must not be blank")
     @Email(message = "Email must be valid")
     String email;
+
+    @JsonIgnore
+    Long version;
+
+    /**
+     * The versions the client accepts, from {@code If-Match}; the update fails with 412 if the user
+     * has none of them. {@code null} accepts any.
+     */
+    @JsonIgnore
+    Set<Long> expectedVersions;
+
+    public UserDto(Long id, String name, String email, Long version) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.version = version;
+    }
 }
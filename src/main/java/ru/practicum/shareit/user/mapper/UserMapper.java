@@ -10,6 +10,7 @@ public class UserMapper {
         dto.setId(user.getId());
         dto.setName(user.getName());
         dto.setEmail(user.getEmail());
+        dto.setVersion(user.getVersion());
         return dto;
     }
 
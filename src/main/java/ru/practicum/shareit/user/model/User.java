@@ -4,9 +4,15 @@ import jakarta.persistence.*;
 import lombok.AccessLevel;
 import lombok.Data;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import ru.practicum.shareit.etag.EntityVersionListener;
 
 @Data
 @Entity
+@EntityListeners(EntityVersionListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
 @Table(name = "users", uniqueConstraints = {
         @UniqueConstraint(name = "uq_user_email", columnNames = "email")
 })
@@ -21,4 +27,8 @@ public class User {
 
     @Column(nullable = false, length = 512, unique = true)
     String email;
+
+    @Version
+    @Column(nullable = false)
+    Long version;
 }
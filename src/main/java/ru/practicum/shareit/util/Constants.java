@@ -3,4 +3,9 @@ package ru.practicum.shareit.util;
 public class Constants {
     public static final String SHARER_ID_HEADER = "X-Sharer-User-Id";
     public static final String ITEM_ID_PATH = "/{itemId}";
+    public static final String DEFAULT_FROM = "0";
+    public static final String DEFAULT_SIZE = "20";
+    public static final int MAX_PAGE_SIZE = 1000;
+    public static final int MAX_BULK_SIZE = 1000;
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
 }
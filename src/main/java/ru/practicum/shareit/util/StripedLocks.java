@@ -0,0 +1,40 @@
+package ru.practicum.shareit.util;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class StripedLocks {
+    private final ReentrantLock[] locks;
+
+    public StripedLocks(int stripes) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("Stripe count must be positive");
+        }
+        locks = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    public ReentrantLock get(Object key) {
+        return locks[stripe(key)];
+    }
+
+    /**
+     * Distinct stripes of the keys in a fixed global order, so callers taking several locks cannot deadlock.
+     */
+    public List<ReentrantLock> getAll(Collection<?> keys) {
+        return keys.stream()
+                .mapToInt(this::stripe)
+                .distinct()
+                .sorted()
+                .mapToObj(i -> locks[i])
+                .toList();
+    }
+
+    private int stripe(Object key) {
+        int h = key.hashCode();
+        return Math.floorMod(h ^ (h >>> 16), locks.length);
+    }
+}
@@ -2,6 +2,7 @@ CREATE TABLE IF NOT EXISTS users (
   id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
   name VARCHAR(255) NOT NULL,
   email VARCHAR(512) NOT NULL,
+  version BIGINT NOT NULL DEFAULT 0,
   CONSTRAINT pk_user PRIMARY KEY (id),
   CONSTRAINT uq_user_email UNIQUE (email)
 );
@@ -10,6 +11,8 @@ CREATE TABLE IF NOT EXISTS requests (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
     description TEXT,
     requestor_id BIGINT NOT NULL REFERENCES users(id),
+    created TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT now(),
+    version BIGINT NOT NULL DEFAULT 0,
     CONSTRAINT pk_request PRIMARY KEY (id)
 );
 
@@ -20,6 +23,7 @@ CREATE TABLE IF NOT EXISTS items (
     is_available BOOLEAN NOT NULL,
     owner_id BIGINT NOT NULL REFERENCES users(id),
     request_id BIGINT REFERENCES requests(id),
+    version BIGINT NOT NULL DEFAULT 0,
     CONSTRAINT pk_item PRIMARY KEY (id)
 );
 
@@ -39,8 +43,103 @@ CREATE TABLE IF NOT EXISTS bookings (
     item_id BIGINT NOT NULL REFERENCES items(id),
     booker_id BIGINT NOT NULL REFERENCES users(id),
     status VARCHAR(16) NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
     CONSTRAINT pk_booking PRIMARY KEY (id),
     CONSTRAINT chk_booking_status CHECK (
         status IN ('WAITING', 'APPROVED', 'REJECTED', 'CANCELED')
     )
 );
+
+-- Optimistic locking and ETags (@Version); added to tables created before the column existed.
+ALTER TABLE users ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE requests ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE items ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+-- Requests created before the column existed count as created at the migration.
+ALTER TABLE requests ADD COLUMN IF NOT EXISTS created TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT now();
+
+-- Per-item read model of GET /items; see ItemDashboardUpdater. Missing rows are built on startup.
+CREATE TABLE IF NOT EXISTS item_dashboard (
+    item_id BIGINT NOT NULL REFERENCES items(id),
+    owner_id BIGINT NOT NULL REFERENCES users(id),
+    name VARCHAR(255) NOT NULL,
+    description TEXT,
+    is_available BOOLEAN NOT NULL,
+    last_booking_id BIGINT,
+    last_booker_id BIGINT,
+    last_start TIMESTAMP WITHOUT TIME ZONE,
+    last_end TIMESTAMP WITHOUT TIME ZONE,
+    next_booking_id BIGINT,
+    next_booker_id BIGINT,
+    next_start TIMESTAMP WITHOUT TIME ZONE,
+    next_end TIMESTAMP WITHOUT TIME ZONE,
+    comment_count INTEGER NOT NULL DEFAULT 0,
+    comments JSONB NOT NULL DEFAULT '[]',
+    CONSTRAINT pk_item_dashboard PRIMARY KEY (item_id)
+);
+
+-- Booking events awaiting delivery (see BookingEventDispatcher); next_attempt_at is NULL once parked.
+CREATE TABLE IF NOT EXISTS booking_events (
+    id BIGINT NOT NULL,
+    type VARCHAR(16) NOT NULL,
+    booking_id BIGINT NOT NULL,
+    item_id BIGINT NOT NULL,
+    booker_id BIGINT NOT NULL,
+    owner_id BIGINT NOT NULL,
+    occurred_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP WITHOUT TIME ZONE,
+    last_error VARCHAR(1000),
+    CONSTRAINT pk_booking_events PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS booking_audit (
+    event_id BIGINT NOT NULL,
+    booking_id BIGINT NOT NULL,
+    type VARCHAR(16) NOT NULL,
+    occurred_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    recorded_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    CONSTRAINT pk_booking_audit PRIMARY KEY (event_id)
+);
+
+-- Items the request matcher suggested to requestors; see RequestSuggester.
+CREATE TABLE IF NOT EXISTS request_suggestions (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    request_id BIGINT NOT NULL REFERENCES requests(id),
+    item_id BIGINT NOT NULL REFERENCES items(id),
+    score DOUBLE PRECISION NOT NULL,
+    created TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    CONSTRAINT pk_request_suggestions PRIMARY KEY (id),
+    CONSTRAINT uq_request_suggestions UNIQUE (request_id, item_id)
+);
+
+-- Booking and item ids come from pooled sequences (50 ids per fetch) so inserts can be batched.
+-- Moving them past existing ids never lowers them, so this is safe on every start.
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('bookings_seq', GREATEST((SELECT COALESCE(MAX(id), 1) FROM bookings), (SELECT last_value FROM bookings_seq)));
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('items_seq', GREATEST((SELECT COALESCE(MAX(id), 1) FROM items), (SELECT last_value FROM items_seq)));
+CREATE SEQUENCE IF NOT EXISTS booking_events_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('booking_events_seq', GREATEST((SELECT COALESCE(MAX(id), 1) FROM booking_events),
+    (SELECT COALESCE(MAX(event_id), 1) FROM booking_audit), (SELECT last_value FROM booking_events_seq)));
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS ix_items_name_trgm ON items USING gin (LOWER(name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS ix_items_description_trgm ON items USING gin (LOWER(description) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS ix_bookings_booker_start ON bookings (booker_id, start_date);
+CREATE INDEX IF NOT EXISTS ix_bookings_item_status_start ON bookings (item_id, status, start_date);
+-- Availability anti-join: leads with end_date so past bookings, the bulk of a history, are skipped.
+CREATE INDEX IF NOT EXISTS ix_bookings_item_approved_end ON bookings (item_id, end_date, start_date)
+    WHERE status = 'APPROVED';
+CREATE INDEX IF NOT EXISTS ix_items_owner ON items (owner_id);
+CREATE INDEX IF NOT EXISTS ix_items_request ON items (request_id);
+CREATE INDEX IF NOT EXISTS ix_item_dashboard_owner ON item_dashboard (owner_id, item_id);
+CREATE INDEX IF NOT EXISTS ix_item_dashboard_next_start ON item_dashboard (next_start);
+CREATE INDEX IF NOT EXISTS ix_comments_item_created ON comments (item_id, created, id);
+CREATE INDEX IF NOT EXISTS ix_booking_events_next_attempt ON booking_events (next_attempt_at, id);
+CREATE INDEX IF NOT EXISTS ix_booking_audit_booking ON booking_audit (booking_id);
+CREATE INDEX IF NOT EXISTS ix_requests_created ON requests (created, id);
+CREATE INDEX IF NOT EXISTS ix_request_suggestions_request ON request_suggestions (request_id, created);
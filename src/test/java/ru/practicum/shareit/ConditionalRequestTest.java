@@ -0,0 +1,191 @@
+package ru.practicum.shareit;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.etag.ResourceETags;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.util.QueryCounter;
+import ru.practicum.shareit.util.TestFixtures;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.util.Constants.SHARER_ID_HEADER;
+
+@SpringBootTest
+@Import(TestFixtures.class)
+@AutoConfigureMockMvc
+class ConditionalRequestTest {
+
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private ResourceETags etags;
+
+    @Test
+    void unchangedResourcesAreAnsweredWithoutTouchingTheDatabase() throws Exception {
+        QueryCounter queries = new QueryCounter(entityManagerFactory);
+        Long ownerId = fixtures.user();
+        Long bookerId = fixtures.user();
+        Long itemId = fixtures.item(ownerId);
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Long bookingId = fixtures.book(itemId, bookerId, start, start.plusDays(1));
+
+        String user = etag(get("/users/{id}", ownerId), ownerId);
+        String item = etag(get("/items/{itemId}", itemId), ownerId);
+        String booking = etag(get("/bookings/{bookingId}", bookingId), bookerId);
+
+        // Users and items are in the entity cache anyway, so the fast path is checked directly.
+        assertEquals(user, etags.knownUser(ownerId));
+        assertEquals(item, etags.knownItem(itemId, ownerId));
+        assertEquals(0, queries.count(() -> {
+            notModified(get("/users/{id}", ownerId), ownerId, user);
+            notModified(get("/items/{itemId}", itemId), ownerId, item);
+            notModified(get("/bookings/{bookingId}", bookingId), bookerId, booking);
+        }));
+
+        bookingService.approveBooking(bookingId, ownerId, true);
+        mvc.perform(get("/bookings/{bookingId}", bookingId)
+                        .header(SHARER_ID_HEADER, bookerId)
+                        .header(HttpHeaders.IF_NONE_MATCH, booking))
+                .andExpect(status().isOk());
+        mvc.perform(get("/items/{itemId}", itemId)
+                        .header(SHARER_ID_HEADER, ownerId)
+                        .header(HttpHeaders.IF_NONE_MATCH, item))
+                .andExpect(status().isOk());
+        // Only readers of the booking learn that their ETag is current.
+        mvc.perform(get("/bookings/{bookingId}", bookingId)
+                        .header(SHARER_ID_HEADER, fixtures.user())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag(get("/bookings/{bookingId}", bookingId), bookerId)))
+                .andExpect(status().is5xxServerError());
+    }
+
+    @Test
+    void updatesHonourIfMatch() throws Exception {
+        Long userId = fixtures.user();
+        String before = etag(get("/users/{id}", userId), userId);
+
+        mvc.perform(patch("/users/{id}", userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"renamed\"}")
+                        .header(HttpHeaders.IF_MATCH, before))
+                .andExpect(status().isOk());
+        String after = etag(get("/users/{id}", userId), userId);
+        assertNotEquals(before, after);
+        mvc.perform(get("/users/{id}", userId).header(HttpHeaders.IF_NONE_MATCH, before))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, after));
+
+        mvc.perform(patch("/users/{id}", userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"lost update\"}")
+                        .header(HttpHeaders.IF_MATCH, before))
+                .andExpect(status().isPreconditionFailed());
+        assertEquals("renamed", userService.findById(userId).getName());
+    }
+
+    @Test
+    void ifMatchAcceptsAStarOrAnyListedETag() throws Exception {
+        Long ownerId = fixtures.user();
+        Long itemId = fixtures.item(ownerId);
+        String before = etag(get("/items/{itemId}", itemId), ownerId);
+
+        mvc.perform(patch("/items/{itemId}", itemId)
+                        .header(SHARER_ID_HEADER, ownerId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"any\"}")
+                        .header(HttpHeaders.IF_MATCH, "*"))
+                .andExpect(status().isOk());
+        String current = etag(get("/items/{itemId}", itemId), ownerId);
+
+        mvc.perform(patch("/items/{itemId}", itemId)
+                        .header(SHARER_ID_HEADER, ownerId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"listed\"}")
+                        .header(HttpHeaders.IF_MATCH, before + ", " + current))
+                .andExpect(status().isOk());
+        mvc.perform(patch("/items/{itemId}", itemId)
+                        .header(SHARER_ID_HEADER, ownerId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"stale\"}")
+                        .header(HttpHeaders.IF_MATCH, before + ", W/" + current))
+                .andExpect(status().isPreconditionFailed());
+        mvc.perform(patch("/items/{itemId}", itemId)
+                        .header(SHARER_ID_HEADER, ownerId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"garbled\"}")
+                        .header(HttpHeaders.IF_MATCH, "3"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(patch("/items/{itemId}", -1L)
+                        .header(SHARER_ID_HEADER, ownerId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"missing\"}")
+                        .header(HttpHeaders.IF_MATCH, "*"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void concurrentUpdateOfTheSameVersionFails() {
+        Long userId = fixtures.user();
+        TransactionTemplate outer = new TransactionTemplate(transactionManager);
+        assertThrows(OptimisticLockingFailureException.class, () -> outer.executeWithoutResult(status -> {
+            User stale = userRepository.findById(userId).orElseThrow();
+            UserDto rename = new UserDto();
+            rename.setName("first");
+            TransactionTemplate inner = new TransactionTemplate(transactionManager);
+            inner.setPropagationBehavior(TransactionTemplate.PROPAGATION_REQUIRES_NEW);
+            inner.executeWithoutResult(s -> userService.update(userId, rename));
+
+            stale.setName("second");
+            userRepository.saveAndFlush(stale);
+        }));
+        assertEquals("first", userService.findById(userId).getName());
+    }
+
+    private String etag(MockHttpServletRequestBuilder request,
+                        Long userId) throws Exception {
+        return mvc.perform(request.header(SHARER_ID_HEADER, userId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private void notModified(MockHttpServletRequestBuilder request,
+                             Long userId, String etag) throws Exception {
+        mvc.perform(request.header(SHARER_ID_HEADER, userId).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+    }
+}
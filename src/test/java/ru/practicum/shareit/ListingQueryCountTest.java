@@ -0,0 +1,162 @@
+package ru.practicum.shareit;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.dashboard.ItemDashboardUpdater;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.util.QueryCounter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.util.Constants.SHARER_ID_HEADER;
+
+/**
+ * Every listing must issue the same number of statements whatever the number of rows it returns.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ListingQueryCountTest {
+
+    private static final int SMALL = 1;
+    private static final int LARGE = 10;
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+    @Autowired
+    private ItemDashboardUpdater dashboardUpdater;
+
+    private QueryCounter queries;
+
+    @BeforeEach
+    void setUp() {
+        queries = new QueryCounter(entityManagerFactory);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/bookings", "/bookings/owner", "/items", "/items/{itemId}", "/requests",
+        "/requests/{requestId}", "/requests/all"})
+    void statementCountDoesNotGrowWithResultSize(String endpoint) throws Exception {
+        long small = statementsFor(endpoint, seed(SMALL));
+        long large = statementsFor(endpoint, seed(LARGE));
+
+        assertEquals(small, large, endpoint + " issues more statements for " + LARGE + " rows than for " + SMALL);
+    }
+
+    private long statementsFor(String endpoint, Fixture fixture) throws Exception {
+        Long userId = endpoint.equals("/bookings") ? fixture.booker.getId()
+                : endpoint.startsWith("/requests") && !endpoint.equals("/requests/all") ? fixture.requestor.getId()
+                : fixture.owner.getId();
+        Long pathId = endpoint.startsWith("/requests/") ? fixture.firstRequest.getId() : fixture.firstItem.getId();
+        return queries.countCold(() -> mvc.perform(get(endpoint, pathId)
+                        .header(SHARER_ID_HEADER, userId))
+                .andExpect(status().isOk()));
+    }
+
+    /**
+     * An owner with {@code rows} items, each booked by the same booker and commented on by a
+     * different author, plus a requestor with {@code rows} requests, each answered by one of the items
+     * and the first by {@code rows} more. The first item carries all the comments. Rows bypass the
+     * services, so the item dashboards are backfilled.
+     */
+    private Fixture seed(int rows) {
+        Fixture fixture = new Fixture();
+        fixture.owner = user();
+        fixture.booker = user();
+        fixture.requestor = user();
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < rows; i++) {
+            ItemRequest request = new ItemRequest();
+            request.setDescription("Need a drill");
+            request.setRequestor(fixture.requestor);
+            request.setCreated(LocalDateTime.now());
+            itemRequestRepository.save(request);
+            if (fixture.firstRequest == null) {
+                fixture.firstRequest = request;
+            }
+
+            Item item = new Item();
+            item.setName("Drill " + i);
+            item.setDescription("Cordless drill");
+            item.setAvailable(true);
+            item.setOwner(fixture.owner);
+            item.setRequest(request);
+            itemRepository.save(item);
+            if (fixture.firstItem == null) {
+                fixture.firstItem = item;
+            }
+
+            Booking booking = new Booking();
+            booking.setItem(item);
+            booking.setBooker(fixture.booker);
+            booking.setStart(start.plusDays(i));
+            booking.setEnd(start.plusDays(i).plusHours(1));
+            booking.setStatus(Status.APPROVED);
+            bookingRepository.save(booking);
+
+            for (Item commented : i == 0 ? new Item[]{item} : new Item[]{item, fixture.firstItem}) {
+                Comment comment = new Comment();
+                comment.setItem(commented);
+                comment.setAuthor(user());
+                comment.setText("Works well");
+                comment.setCreated(LocalDateTime.now());
+                commentRepository.save(comment);
+            }
+
+            Item answer = new Item();
+            answer.setName("Ladder " + i);
+            answer.setAvailable(true);
+            answer.setOwner(fixture.owner);
+            answer.setRequest(fixture.firstRequest);
+            itemRepository.save(answer);
+        }
+        dashboardUpdater.backfill();
+        return fixture;
+    }
+
+    private User user() {
+        User user = new User();
+        user.setName("user");
+        user.setEmail(UUID.randomUUID() + "@mail.ru");
+        return userRepository.save(user);
+    }
+
+    private static final class Fixture {
+        private User owner;
+        private User booker;
+        private User requestor;
+        private Item firstItem;
+        private ItemRequest firstRequest;
+    }
+}
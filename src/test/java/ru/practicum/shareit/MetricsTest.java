@@ -0,0 +1,51 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.util.TestFixtures;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.util.Constants.SHARER_ID_HEADER;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@Import(TestFixtures.class)
+class MetricsTest {
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void exportsRequestRepositoryAndPersistenceMetrics() throws Exception {
+        Long ownerId = fixtures.user();
+        Long itemId = fixtures.item(ownerId);
+
+        mvc.perform(get("/items/{itemId}", itemId).header(SHARER_ID_HEADER, ownerId))
+                .andExpect(status().isOk());
+
+        mvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("handler=\"ItemController#get")))
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket{")))
+                .andExpect(content().string(containsString(
+                        "spring_data_repository_invocations_seconds_bucket{exception=\"None\",method=\"findPage\"")))
+                .andExpect(content().string(containsString(
+                        "shareit_request_statements_count{method=\"GET\",uri=\"/items/{itemId}\"} 1")))
+                .andExpect(content().string(not(containsString(
+                        "shareit_request_statements_sum{method=\"GET\",uri=\"/items/{itemId}\"} 0.0"))))
+                .andExpect(content().string(containsString(
+                        "shareit_request_entities_count{method=\"GET\",uri=\"/items/{itemId}\"} 1")));
+    }
+}
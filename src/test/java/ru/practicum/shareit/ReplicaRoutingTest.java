@@ -0,0 +1,193 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.timeline.BookingTimelineIndex;
+import ru.practicum.shareit.config.ReplicaLagMonitor;
+import ru.practicum.shareit.item.comments.CommentSummary;
+import ru.practicum.shareit.item.comments.CommentSummaryCache;
+import ru.practicum.shareit.request.matching.RequestMatchIndex;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.util.TestFixtures;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Two H2 databases stand in for the primary and the replica; the replica holds different rows,
+ * so every response shows where it was read from.
+ */
+@SpringBootTest(properties = {
+        "shareit.datasource.replica.jdbc-url=jdbc:h2:mem:replica-${random.uuid};DB_CLOSE_DELAY=-1",
+        "shareit.datasource.replica.username=sa",
+        "shareit.datasource.replica.lag-query=SELECT lag_seconds FROM replica_lag",
+        "shareit.datasource.replica.max-lag=2s",
+        "shareit.datasource.replica.lag-check-interval-ms=3600000"
+})
+@AutoConfigureMockMvc
+@Import(TestFixtures.class)
+class ReplicaRoutingTest {
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ReplicaLagMonitor monitor;
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private BookingTimelineIndex bookingTimelines;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private RequestMatchIndex requestMatchIndex;
+    @Autowired
+    private CommentSummaryCache commentSummaries;
+
+    @Test
+    void readOnlyTransactionsUseReplicaUntilItLags() throws Exception {
+        JdbcTemplate replica = new JdbcTemplate(replicaDataSource);
+        replica.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, name VARCHAR(255), email VARCHAR(512), version BIGINT)");
+        replica.update("INSERT INTO users VALUES (1, 'replica', 'replica@mail.ru', 0)");
+        lag(replica, 0.5);
+        assertTrue(monitor.isUsable());
+
+        UserDto user = new UserDto();
+        user.setName("primary");
+        user.setEmail("primary@mail.ru");
+        userService.create(user);
+
+        mvc.perform(get("/users"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].name").value("replica"));
+
+        lag(replica, 10);
+        assertFalse(monitor.isUsable());
+
+        // Other tests in this context add users to the primary too.
+        mvc.perform(get("/users"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].name", hasItem("primary")))
+                .andExpect(jsonPath("$[*].name", not(hasItem("replica"))));
+    }
+
+    @Test
+    void approvalsCheckOverlapsAgainstThePrimaryWhileTheReplicaLags() {
+        JdbcTemplate primary = new JdbcTemplate(primaryDataSource);
+        JdbcTemplate replica = new JdbcTemplate(replicaDataSource);
+        // The replica has the bookings table but none of its rows yet, and lags within the bound.
+        primary.queryForList("SCRIPT NODATA TABLE bookings", String.class).stream()
+                .filter(sql -> sql.startsWith("CREATE") && sql.contains(" TABLE "))
+                .forEach(replica::execute);
+        lag(replica, 0.5);
+        assertTrue(monitor.isUsable());
+
+        Long ownerId = fixtures.user();
+        Long bookerId = fixtures.user();
+        Long itemId = fixtures.item(ownerId);
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+        String insert = "INSERT INTO bookings (id, item_id, booker_id, start_date, end_date, status, version) "
+                + "VALUES (?, ?, ?, ?, ?, ?, 0)";
+        primary.update(insert, 1_000_001L, itemId, bookerId, start, start.plusHours(2), "APPROVED");
+        primary.update(insert, 1_000_002L, itemId, bookerId, start.plusHours(1), start.plusHours(3), "WAITING");
+
+        // A read-only path is the first to need the item's timeline.
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(status -> bookingTimelines.get(itemId));
+
+        ResponseStatusException conflict = assertThrows(ResponseStatusException.class,
+                () -> bookingService.approveBooking(1_000_002L, ownerId, true));
+        assertEquals(HttpStatus.CONFLICT, conflict.getStatusCode());
+    }
+
+    @Test
+    void requestMatchIndexLoadsFromThePrimaryWhileTheReplicaLags() {
+        JdbcTemplate primary = new JdbcTemplate(primaryDataSource);
+        JdbcTemplate replica = new JdbcTemplate(replicaDataSource);
+        // The replica has the requests and items tables but none of their rows yet.
+        primary.queryForList("SCRIPT NODATA TABLE requests, items", String.class).stream()
+                .filter(sql -> sql.startsWith("CREATE") && sql.contains(" TABLE "))
+                .forEach(replica::execute);
+        lag(replica, 0.5);
+        assertTrue(monitor.isUsable());
+
+        Long requestorId = fixtures.user();
+        primary.update("INSERT INTO requests (id, description, requestor_id, created, version) VALUES (?, ?, ?, ?, 0)",
+                2_000_001L, "Need a fretsaw for plywood", requestorId, LocalDateTime.now());
+
+        // Loaded from within a read-only transaction, which on its own would read the replica.
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(status -> requestMatchIndex.load());
+
+        assertEquals(1, requestMatchIndex.match("Fretsaw for plywood", null, 10).size());
+    }
+
+    @Test
+    void commentSummariesLoadFromThePrimaryWhileTheReplicaLags() {
+        JdbcTemplate primary = new JdbcTemplate(primaryDataSource);
+        JdbcTemplate replica = new JdbcTemplate(replicaDataSource);
+        // The replica has the comments table but none of its rows yet.
+        primary.queryForList("SCRIPT NODATA TABLE comments", String.class).stream()
+                .filter(sql -> sql.startsWith("CREATE") && sql.contains(" TABLE "))
+                .forEach(replica::execute);
+        lag(replica, 0.5);
+        assertTrue(monitor.isUsable());
+
+        Long ownerId = fixtures.user();
+        Long authorId = fixtures.user();
+        Long itemId = fixtures.item(ownerId);
+        primary.update("INSERT INTO comments (id, text, item_id, author_id, created) VALUES (?, ?, ?, ?, ?)",
+                3_000_001L, "Works well", itemId, authorId, LocalDateTime.now());
+
+        // Item details load the summary from within a read-only transaction.
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        CommentSummary summary = readOnly.execute(status -> commentSummaries.get(itemId));
+
+        assertEquals(1, summary.getCount());
+        assertEquals("Works well", summary.getLatest().get(0).getText());
+    }
+
+    private void lag(JdbcTemplate replica, double seconds) {
+        replica.execute("CREATE TABLE IF NOT EXISTS replica_lag (lag_seconds DOUBLE PRECISION)");
+        replica.update("DELETE FROM replica_lag");
+        replica.update("INSERT INTO replica_lag VALUES (?)", seconds);
+        monitor.check();
+    }
+}
@@ -0,0 +1,112 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.util.TestFixtures;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@SpringBootTest
+@Import(TestFixtures.class)
+class BookingAdmissionStressTest {
+    private static final int THREADS = 16;
+    private static final int OVERLAPPING = 64;
+    private static final int SLOTS = 512;
+
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Test
+    void concurrentApprovalsOfOverlappingBookingsAdmitExactlyOne() throws Exception {
+        Long ownerId = fixtures.user();
+        Long itemId = fixtures.item(ownerId);
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<Long> bookingIds = new ArrayList<>();
+        for (int i = 0; i < OVERLAPPING; i++) {
+            LocalDateTime from = start.plusMinutes(i);
+            bookingIds.add(fixtures.book(itemId, fixtures.user(), from, from.plusHours(2)));
+        }
+
+        int approved = approveConcurrently(bookingIds, ownerId);
+
+        assertEquals(1, approved);
+        assertNoOverlappingApprovals(itemId);
+    }
+
+    @Test
+    void hotItemAdmitsDisjointBookingsFromManyThreads() throws Exception {
+        Long ownerId = fixtures.user();
+        Long itemId = fixtures.item(ownerId);
+        Long bookerId = fixtures.user();
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<Long> bookingIds = new ArrayList<>();
+        for (int i = 0; i < SLOTS; i++) {
+            bookingIds.add(fixtures.book(itemId, bookerId, start.plusHours(i), start.plusHours(i + 1)));
+        }
+
+        int approved = approveConcurrently(bookingIds, ownerId);
+
+        assertEquals(SLOTS, approved);
+        assertNoOverlappingApprovals(itemId);
+    }
+
+    private int approveConcurrently(List<Long> bookingIds, Long ownerId) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (Long bookingId : bookingIds) {
+                results.add(executor.submit(() -> {
+                    startSignal.await();
+                    try {
+                        bookingService.approveBooking(bookingId, ownerId, true);
+                        return true;
+                    } catch (RuntimeException e) {
+                        return false;
+                    }
+                }));
+            }
+            startSignal.countDown();
+            int approved = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get()) {
+                    approved++;
+                }
+            }
+            return approved;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private void assertNoOverlappingApprovals(Long itemId) {
+        List<Booking> approved = bookingRepository.findAll().stream()
+                .filter(b -> b.getItem().getId().equals(itemId) && b.getStatus() == Status.APPROVED)
+                .sorted(Comparator.comparing(Booking::getStart))
+                .toList();
+        for (int i = 1; i < approved.size(); i++) {
+            assertFalse(approved.get(i).getStart().isBefore(approved.get(i - 1).getEnd()),
+                    "Approved bookings overlap: " + approved.get(i - 1).getId() + " and " + approved.get(i).getId());
+        }
+    }
+}
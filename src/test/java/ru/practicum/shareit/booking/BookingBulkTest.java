@@ -0,0 +1,82 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.booking.dto.BookingBulkResultDto;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.util.QueryCounter;
+import ru.practicum.shareit.util.TestFixtures;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.practicum.shareit.util.TestFixtures.booking;
+
+@SpringBootTest
+@Import(TestFixtures.class)
+class BookingBulkTest {
+
+    private static final int BATCH = 200;
+
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private BookingService bookingService;
+
+    @Test
+    void createAndApproveBatchInAFewRoundTrips() throws Exception {
+        QueryCounter queries = new QueryCounter(entityManagerFactory);
+        Long ownerId = fixtures.user();
+        Long bookerId = fixtures.user();
+        Long itemId = fixtures.item(ownerId);
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<BookingRequestDto> requests = new ArrayList<>();
+        for (int i = 0; i < BATCH; i++) {
+            requests.add(booking(itemId, start.plusHours(2L * i)));
+        }
+
+        List<BookingBulkResultDto> created = new ArrayList<>();
+        long createStatements = queries.count(() -> created.addAll(bookingService.createAll(requests, bookerId)));
+        List<Long> ids = created.stream().map(r -> r.getBooking().getId()).toList();
+        List<BookingBulkResultDto> approved = new ArrayList<>();
+        long approveStatements = queries.count(() -> approved.addAll(bookingService.approveAll(ids, ownerId, true)));
+
+        assertTrue(created.stream().allMatch(r -> r.getStatus() == 200));
+        assertTrue(approved.stream().allMatch(r -> r.getBooking().getStatus() == Status.APPROVED));
+        assertTrue(createStatements < 20, "create: " + createStatements + " statements for " + BATCH);
+        assertTrue(approveStatements < 20, "approve: " + approveStatements + " statements for " + BATCH);
+    }
+
+    @Test
+    void reportsFailuresPerElement() {
+        Long ownerId = fixtures.user();
+        Long bookerId = fixtures.user();
+        Long itemId = fixtures.item(ownerId);
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+        List<BookingBulkResultDto> created = bookingService.createAll(List.of(
+                booking(itemId, start),
+                booking(itemId, start.plusMinutes(30)),
+                booking(-1L, start),
+                booking(itemId, LocalDateTime.now().minusDays(1))), bookerId);
+
+        assertEquals(List.of(200, 200, 404, 400), created.stream().map(BookingBulkResultDto::getStatus).toList());
+        assertNull(created.get(2).getBooking());
+
+        List<Long> ids = List.of(created.get(0).getBooking().getId(), created.get(1).getBooking().getId(), -1L);
+        List<BookingBulkResultDto> approved = bookingService.approveAll(ids, ownerId, true);
+
+        assertEquals(List.of(200, 409, 404), approved.stream().map(BookingBulkResultDto::getStatus).toList());
+    }
+}
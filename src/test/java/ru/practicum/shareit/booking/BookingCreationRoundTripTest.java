@@ -0,0 +1,42 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.util.QueryCounter;
+import ru.practicum.shareit.util.TestFixtures;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@Import(TestFixtures.class)
+class BookingCreationRoundTripTest {
+
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void warmEntityCacheLeavesOnlyTheInserts() throws Exception {
+        QueryCounter queries = new QueryCounter(entityManagerFactory);
+        Long ownerId = fixtures.user();
+        Long bookerId = fixtures.user();
+        Long itemId = fixtures.item(ownerId);
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        fixtures.book(itemId, bookerId, start);
+
+        long cold = queries.countCold(() -> fixtures.book(itemId, bookerId, start.plusDays(1)));
+        // Booking and event ids come from pooled sequences: at most one of two creations in a row fetches new blocks.
+        long warm = Math.min(queries.count(() -> fixtures.book(itemId, bookerId, start.plusDays(2))),
+                queries.count(() -> fixtures.book(itemId, bookerId, start.plusDays(3))));
+        // The booking row and its outbox event.
+        assertEquals(2, warm);
+        assertTrue(cold > warm);
+    }
+}
@@ -0,0 +1,228 @@
+package ru.practicum.shareit.booking;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import ru.practicum.shareit.ShareItApp;
+import ru.practicum.shareit.booking.events.BookingAudit;
+import ru.practicum.shareit.booking.events.BookingAuditRepository;
+import ru.practicum.shareit.booking.events.BookingEvent;
+import ru.practicum.shareit.booking.events.BookingEventDispatcher;
+import ru.practicum.shareit.booking.events.BookingEventRepository;
+import ru.practicum.shareit.booking.events.BookingEventSink;
+import ru.practicum.shareit.booking.events.BookingEventType;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.util.TestFixtures;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "shareit.booking.events.dispatcher.enabled=true",
+        "shareit.booking.events.poll-interval=50ms",
+        "shareit.booking.events.retry-backoff=20ms",
+        "shareit.booking.events.max-attempts=3"
+})
+@Import({BookingEventsTest.RecordingSinkConfig.class, TestFixtures.class})
+class BookingEventsTest {
+
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private BookingEventRepository eventRepository;
+    @Autowired
+    private BookingAuditRepository auditRepository;
+    @Autowired
+    private RecordingSink sink;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void deliversEventsToEverySinkAndEmptiesTheOutbox() throws InterruptedException {
+        Long ownerId = fixtures.user();
+        Long bookerId = fixtures.user();
+        Long bookingId = fixtures.book(fixtures.item(ownerId), bookerId, LocalDateTime.now().plusDays(1));
+        bookingService.approveBooking(bookingId, ownerId, true);
+
+        awaitTrue(() -> sink.types(bookingId).size() == 2);
+        assertEquals(List.of(BookingEventType.CREATED, BookingEventType.APPROVED), sink.types(bookingId));
+        // The sinks share the dispatcher's transaction, so the audit rows show up once it commits.
+        awaitTrue(() -> auditRepository.findByBookingIdOrderByEventId(bookingId).size() == 2);
+        assertEquals(List.of(BookingEventType.CREATED, BookingEventType.APPROVED),
+                auditRepository.findByBookingIdOrderByEventId(bookingId).stream().map(BookingAudit::getType).toList());
+        awaitTrue(() -> eventRepository.count() == eventRepository.countByNextAttemptAtIsNull());
+    }
+
+    @Test
+    void retriesAFailingEventWithoutHoldingBackTheOthersAndParksIt() throws InterruptedException {
+        Long ownerId = fixtures.user();
+        Long bookerId = fixtures.user();
+        Long failingItem = fixtures.item(ownerId);
+        sink.failFor(failingItem);
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Long failing = fixtures.book(failingItem, bookerId, start);
+        Long healthy = fixtures.book(fixtures.item(ownerId), bookerId, start);
+
+        awaitTrue(() -> sink.types(healthy).size() == 1);
+        awaitTrue(() -> eventRepository.findAll().stream()
+                .anyMatch(e -> e.getBookingId().equals(failing) && e.getNextAttemptAt() == null));
+        assertTrue(sink.types(failing).isEmpty());
+        assertTrue(auditRepository.findByBookingIdOrderByEventId(failing).isEmpty());
+        assertTrue(meterRegistry.counter("shareit.booking.events", "outcome", "retried").count() >= 2);
+        assertTrue(meterRegistry.counter("shareit.booking.events", "outcome", "parked").count() >= 1);
+    }
+
+    @Test
+    void redeliversEventsHandedToTheSinksByADispatcherThatDiedBeforeCommitting() throws InterruptedException {
+        String url = "--spring.datasource.url=jdbc:h2:mem:crash-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+        Long bookingId;
+        List<BookingEventType> handedOver;
+        try (ConfigurableApplicationContext first = start(url, true)) {
+            RecordingSink crashing = first.getBean(RecordingSink.class);
+            crashing.crashAfterDelivery();
+            TestFixtures fixtures = new TestFixtures(first.getBean(UserService.class),
+                    first.getBean(ItemService.class), first.getBean(BookingService.class));
+            Long ownerId = fixtures.user();
+            bookingId = fixtures.approved(fixtures.item(ownerId), fixtures.user(), ownerId,
+                    LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(1).plusHours(1));
+            awaitTrue(() -> !crashing.types(bookingId).isEmpty());
+            handedOver = crashing.types(bookingId);
+            // Closing joins the dead worker, whose transaction has rolled back.
+        }
+        try (ConfigurableApplicationContext second = start(url, true)) {
+            RecordingSink recovered = second.getBean(RecordingSink.class);
+            awaitTrue(() -> recovered.types(bookingId).size() == 2);
+            assertEquals(List.of(BookingEventType.CREATED, BookingEventType.APPROVED), recovered.types(bookingId));
+            assertTrue(recovered.types(bookingId).containsAll(handedOver));
+            awaitTrue(() -> second.getBean(BookingEventRepository.class).count() == 0);
+        }
+    }
+
+    @Test
+    void refusesBookingChangesWhileTheBacklogIsFull() throws InterruptedException {
+        String url = "--spring.datasource.url=jdbc:h2:mem:backlog-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+        try (ConfigurableApplicationContext context = start(url, false, "--shareit.booking.events.max-pending=2",
+                "--shareit.booking.events.backlog-check-interval-ms=50")) {
+            TestFixtures fixtures = new TestFixtures(context.getBean(UserService.class),
+                    context.getBean(ItemService.class), context.getBean(BookingService.class));
+            Long ownerId = fixtures.user();
+            Long bookerId = fixtures.user();
+            Long itemId = fixtures.item(ownerId);
+            LocalDateTime start = LocalDateTime.now().plusDays(1);
+            Long first = fixtures.book(itemId, bookerId, start);
+            Long second = fixtures.book(itemId, bookerId, start.plusDays(1));
+
+            ResponseStatusException refused = assertThrows(ResponseStatusException.class,
+                    () -> fixtures.book(itemId, bookerId, start.plusDays(2)));
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE, refused.getStatusCode());
+            BookingService bookingService = context.getBean(BookingService.class);
+            ResponseStatusException bulkRefused = assertThrows(ResponseStatusException.class,
+                    () -> bookingService.approveAll(List.of(first, second), ownerId, true));
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE, bulkRefused.getStatusCode());
+            assertEquals(Status.WAITING, bookingService.getById(first, bookerId).getStatus());
+            assertEquals(Status.WAITING, bookingService.getById(second, bookerId).getStatus());
+
+            context.getBean(BookingEventDispatcher.class).dispatchDue();
+            awaitTrue(() -> {
+                try {
+                    fixtures.book(itemId, bookerId, start.plusDays(3));
+                    return true;
+                } catch (ResponseStatusException e) {
+                    return false;
+                }
+            });
+        }
+    }
+
+    private static ConfigurableApplicationContext start(String url, boolean dispatch, String... args) {
+        return new SpringApplicationBuilder(ShareItApp.class, RecordingSinkConfig.class)
+                .profiles("test")
+                .web(WebApplicationType.NONE)
+                // The JCache manager is shared across the JVM; closing these contexts must not close it.
+                .run(Stream.concat(Stream.of(url, "--spring.jpa.hibernate.ddl-auto=update",
+                        "--spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                        "--shareit.booking.events.dispatcher.enabled=" + dispatch,
+                        "--shareit.booking.events.poll-interval=50ms"), Stream.of(args)).toArray(String[]::new));
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met within 10s");
+            Thread.sleep(20);
+        }
+    }
+
+    @TestConfiguration
+    static class RecordingSinkConfig {
+        @Bean
+        RecordingSink recordingSink() {
+            return new RecordingSink();
+        }
+    }
+
+    static class RecordingSink implements BookingEventSink {
+        private final List<BookingEvent> delivered = new CopyOnWriteArrayList<>();
+        private final Set<Long> failing = ConcurrentHashMap.newKeySet();
+        private volatile boolean crash;
+
+        @Override
+        public void deliver(List<BookingEvent> events) {
+            for (BookingEvent event : events) {
+                if (failing.contains(event.getItemId())) {
+                    throw new IllegalStateException("Sink unavailable for item " + event.getItemId());
+                }
+            }
+            delivered.addAll(events);
+            if (crash) {
+                throw new Crash();
+            }
+        }
+
+        void failFor(Long itemId) {
+            failing.add(itemId);
+        }
+
+        /**
+         * Kills the dispatcher thread after the sinks got the batch but before it is deleted, as
+         * the process dying there would.
+         */
+        void crashAfterDelivery() {
+            crash = true;
+        }
+
+        List<BookingEventType> types(Long bookingId) {
+            return delivered.stream()
+                    .filter(event -> event.getBookingId().equals(bookingId))
+                    .map(BookingEvent::getType)
+                    .toList();
+        }
+    }
+
+    static class Crash extends Error {
+    }
+}
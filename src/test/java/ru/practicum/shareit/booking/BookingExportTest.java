@@ -0,0 +1,89 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.util.TestFixtures;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.util.Constants.SHARER_ID_HEADER;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(TestFixtures.class)
+class BookingExportTest {
+
+    private static final int BOOKINGS = 250;
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Test
+    void exportsWholeHistoryAsCsvAndNdjson() throws Exception {
+        Long ownerId = fixtures.user();
+        User booker = userRepository.findById(fixtures.user()).orElseThrow();
+        // Past bookings cannot be made through the service, so they are stored directly.
+        Item item = itemRepository.findById(fixtures.item(ownerId, "Drill, \"cordless\"", "Drill")).orElseThrow();
+        LocalDateTime start = LocalDateTime.now().minusDays(BOOKINGS);
+        for (int i = 0; i < BOOKINGS; i++) {
+            Booking booking = new Booking();
+            booking.setItem(item);
+            booking.setBooker(booker);
+            booking.setStart(start.plusDays(i));
+            booking.setEnd(start.plusDays(i).plusHours(1));
+            booking.setStatus(Status.APPROVED);
+            bookingRepository.save(booking);
+        }
+
+        String[] csv = export("/bookings/export", booker.getId(), "text/csv").split("\r\n");
+        assertEquals(BOOKINGS + 1, csv.length);
+        assertEquals("id,start,end,status,item_id,item_name,booker_id", csv[0]);
+        assertTrue(csv[1].endsWith(",APPROVED," + item.getId() + ",\"Drill, \"\"cordless\"\"\"," + booker.getId()),
+                csv[1]);
+
+        String[] ndjson = export("/bookings/owner/export", ownerId, MediaType.APPLICATION_NDJSON_VALUE).split("\n");
+        assertEquals(BOOKINGS, ndjson.length);
+        assertTrue(ndjson[0].contains("\"itemName\":\"Drill, \\\"cordless\\\"\""), ndjson[0]);
+    }
+
+    private String export(String path, Long userId, String accept) throws Exception {
+        MvcResult started = mvc.perform(get(path)
+                        .header(SHARER_ID_HEADER, userId)
+                        .accept(accept))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+    }
+}
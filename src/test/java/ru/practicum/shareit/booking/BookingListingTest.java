@@ -0,0 +1,118 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.util.TestFixtures;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.util.Constants.NEXT_CURSOR_HEADER;
+import static ru.practicum.shareit.util.Constants.SHARER_ID_HEADER;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(TestFixtures.class)
+class BookingListingTest {
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Test
+    void filtersByStateAndPagesByCursorForBookerAndOwner() throws Exception {
+        Long ownerId = fixtures.user();
+        Long bookerId = fixtures.user();
+        Long itemId = fixtures.item(ownerId);
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        // Past and current bookings cannot be made through the service, so they are stored directly.
+        Long past = store(itemId, bookerId, now.minusDays(3), now.minusDays(2));
+        Long current = store(itemId, bookerId, now.minusHours(1), now.plusHours(1));
+        Long waiting = fixtures.book(itemId, bookerId, now.plusDays(1));
+        Long rejected = fixtures.book(itemId, bookerId, now.plusDays(2));
+        bookingService.approveBooking(rejected, ownerId, false);
+        Long approved = fixtures.approved(itemId, bookerId, ownerId, now.plusDays(3), now.plusDays(3).plusHours(1));
+
+        for (String path : List.of("/bookings", "/bookings/owner")) {
+            Long userId = path.equals("/bookings") ? bookerId : ownerId;
+            expect(path, userId, "ALL", approved, rejected, waiting, current, past);
+            expect(path, userId, "CURRENT", current);
+            expect(path, userId, "PAST", past);
+            expect(path, userId, "FUTURE", approved, rejected, waiting);
+            expect(path, userId, "WAITING", waiting);
+            expect(path, userId, "REJECTED", rejected);
+
+            String cursor = page(path, userId, null, approved, rejected);
+            cursor = page(path, userId, cursor, waiting, current);
+            mvc.perform(get(path).header(SHARER_ID_HEADER, userId).param("size", "2").param("cursor", cursor))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[*].id", contains(ids(past))))
+                    .andExpect(header().doesNotExist(NEXT_CURSOR_HEADER));
+        }
+        mvc.perform(get("/bookings").header(SHARER_ID_HEADER, ownerId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", empty()));
+        mvc.perform(get("/bookings").header(SHARER_ID_HEADER, bookerId).param("state", "UNKNOWN"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void expect(String path, Long userId, String state, Long... bookingIds) throws Exception {
+        mvc.perform(get(path).header(SHARER_ID_HEADER, userId).param("state", state))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", contains(ids(bookingIds))))
+                .andExpect(header().doesNotExist(NEXT_CURSOR_HEADER));
+    }
+
+    private String page(String path, Long userId, String cursor, Long... bookingIds) throws Exception {
+        MvcResult result = mvc.perform(get(path).header(SHARER_ID_HEADER, userId)
+                        .param("size", String.valueOf(bookingIds.length))
+                        .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", contains(ids(bookingIds))))
+                .andExpect(header().exists(NEXT_CURSOR_HEADER))
+                .andReturn();
+        return result.getResponse().getHeader(NEXT_CURSOR_HEADER);
+    }
+
+    private Long store(Long itemId, Long bookerId, LocalDateTime start, LocalDateTime end) {
+        Booking booking = new Booking();
+        booking.setItem(itemRepository.findById(itemId).orElseThrow());
+        booking.setBooker(userRepository.findById(bookerId).orElseThrow());
+        booking.setStart(start);
+        booking.setEnd(end);
+        booking.setStatus(Status.APPROVED);
+        return bookingRepository.save(booking).getId();
+    }
+
+    private static Integer[] ids(Long... bookingIds) {
+        return Stream.of(bookingIds).map(Math::toIntExact).toArray(Integer[]::new);
+    }
+}
@@ -0,0 +1,85 @@
+package ru.practicum.shareit.booking.timeline;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.util.TestFixtures;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Room for a single timeline, so every test also loads timelines evicted by the others.
+ */
+@SpringBootTest(properties = "shareit.availability.max-items=1")
+@Import(TestFixtures.class)
+class BookingTimelineIndexTest {
+
+    @Autowired
+    private BookingTimelineIndex bookingTimelines;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void approvalsShowOnceCommitted() {
+        Long ownerId = fixtures.user();
+        Long bookerId = fixtures.user();
+        Long itemId = fixtures.item(ownerId);
+        LocalDateTime now = LocalDateTime.now();
+        Long bookingId = fixtures.book(itemId, bookerId, now.plusDays(1));
+        BookingTimeline loaded = bookingTimelines.get(itemId);
+        assertNull(loaded.next(now));
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            bookingService.approveBooking(bookingId, ownerId, true);
+            assertNull(loaded.next(now));
+        });
+
+        assertEquals(bookingId, bookingTimelines.get(itemId).next(now).getId());
+    }
+
+    @Test
+    void rolledBackApprovalsNeverShow() {
+        Long ownerId = fixtures.user();
+        Long bookerId = fixtures.user();
+        Long itemId = fixtures.item(ownerId);
+        LocalDateTime now = LocalDateTime.now();
+        Long bookingId = fixtures.book(itemId, bookerId, now.plusDays(1));
+        bookingTimelines.get(itemId);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            bookingService.approveBooking(bookingId, ownerId, true);
+            status.setRollbackOnly();
+        });
+
+        assertNull(bookingTimelines.get(itemId).next(now));
+    }
+
+    @Test
+    void evictedTimelinesAreLoadedAgainWithTheirApprovals() {
+        Long ownerId = fixtures.user();
+        Long bookerId = fixtures.user();
+        Long itemId = fixtures.item(ownerId);
+        Long otherItemId = fixtures.item(ownerId);
+        LocalDateTime now = LocalDateTime.now();
+        Long first = fixtures.approved(itemId, bookerId, ownerId, now.plusHours(1), now.plusHours(2));
+        bookingTimelines.get(itemId);
+        bookingTimelines.get(otherItemId);
+
+        Long next = fixtures.approved(itemId, bookerId, ownerId, now.plusDays(1), now.plusDays(1).plusHours(1));
+
+        BookingTimeline timeline = bookingTimelines.get(itemId);
+        assertEquals(first, timeline.next(now).getId());
+        assertEquals(next, timeline.next(now.plusHours(3)).getId());
+    }
+}
@@ -0,0 +1,84 @@
+package ru.practicum.shareit.booking.timeline;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class BookingTimelineTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 1, 0, 20);
+    private static final LocalDateTime HOUR = NOW.withMinute(0);
+
+    @Test
+    void windowMovesPastItsCapacityAndPicksUpBookingsEnteringIt() {
+        // 100 hours round up to 128 slots; the last two bookings start beyond them at first.
+        BookingTimeline timeline = new BookingTimeline(List.of(
+                entry(1, HOUR.plusHours(5), HOUR.plusHours(6)),
+                entry(2, HOUR.plusHours(120), HOUR.plusHours(122)),
+                entry(3, HOUR.plusHours(130), HOUR.plusHours(131))), 100);
+
+        assertEquals(List.of(range(HOUR, HOUR.plusHours(5)), range(HOUR.plusHours(6), HOUR.plusHours(120)),
+                        range(HOUR.plusHours(122), HOUR.plusHours(128))),
+                timeline.freeRanges(HOUR, HOUR.plusHours(200), NOW));
+
+        LocalDateTime later = NOW.plusHours(100);
+        timeline.add(entry(4, HOUR.plusHours(140), HOUR.plusHours(141)), later);
+        assertEquals(List.of(range(HOUR.plusHours(122), HOUR.plusHours(130)),
+                        range(HOUR.plusHours(131), HOUR.plusHours(140)),
+                        range(HOUR.plusHours(141), HOUR.plusHours(145))),
+                timeline.freeRanges(HOUR.plusHours(121), HOUR.plusHours(145), later));
+
+        LocalDateTime muchLater = HOUR.plusHours(1000);
+        assertEquals(List.of(range(muchLater, muchLater.plusHours(10))),
+                timeline.freeRanges(muchLater, muchLater.plusHours(10), muchLater));
+    }
+
+    @Test
+    void partlyBookedHoursAreBusyAndRangesAreCutToTheQuery() {
+        BookingTimeline timeline = new BookingTimeline(List.of(
+                entry(1, HOUR.plusHours(2).plusMinutes(30), HOUR.plusHours(3).plusMinutes(15))), 48);
+
+        assertEquals(List.of(range(HOUR.plusMinutes(40), HOUR.plusHours(2)),
+                        range(HOUR.plusHours(4), HOUR.plusHours(5).plusMinutes(10))),
+                timeline.freeRanges(HOUR.plusMinutes(40), HOUR.plusHours(5).plusMinutes(10), NOW));
+    }
+
+    @Test
+    void lastIsTheLatestStartedBookingAndNextTheEarliestToStart() {
+        BookingTimeline timeline = new BookingTimeline(List.of(
+                entry(1, NOW.minusHours(5), NOW.minusHours(4)),
+                entry(2, NOW.minusHours(1), NOW.plusHours(1)),
+                entry(3, NOW.plusHours(2), NOW.plusHours(3)),
+                entry(4, NOW.plusHours(10), NOW.plusHours(11))), 48);
+
+        assertEquals(2L, timeline.last(NOW).getId());
+        assertEquals(3L, timeline.next(NOW).getId());
+
+        timeline.add(entry(5, NOW.plusHours(1), NOW.plusHours(2)), NOW);
+        assertEquals(2L, timeline.last(NOW).getId());
+        assertEquals(5L, timeline.next(NOW).getId());
+
+        assertEquals(4L, timeline.last(NOW.plusHours(20)).getId());
+        assertNull(timeline.next(NOW.plusHours(20)));
+    }
+
+    @Test
+    void emptyTimelineHasNeitherLastNorNext() {
+        BookingTimeline timeline = new BookingTimeline(List.of(), 48);
+
+        assertNull(timeline.last(NOW));
+        assertNull(timeline.next(NOW));
+    }
+
+    private static TimelineEntry entry(long id, LocalDateTime start, LocalDateTime end) {
+        return new TimelineEntry(id, 1L, 2L, start, end);
+    }
+
+    private static TimeRange range(LocalDateTime start, LocalDateTime end) {
+        return new TimeRange(start, end);
+    }
+}
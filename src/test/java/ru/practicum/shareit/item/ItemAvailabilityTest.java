@@ -0,0 +1,100 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.item.dto.ItemUpdateDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.util.TestFixtures;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@Import(TestFixtures.class)
+@AutoConfigureMockMvc
+class ItemAvailabilityTest {
+
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private ItemService itemService;
+
+    @Test
+    void freeRangesFollowApprovals() throws Exception {
+        Long ownerId = fixtures.user();
+        Long bookerId = fixtures.user();
+        Long itemId = fixtures.item(ownerId);
+        LocalDateTime day = LocalDate.now().plusDays(1).atStartOfDay();
+        fixtures.approved(itemId, bookerId, ownerId, day.plusHours(10), day.plusHours(12).plusMinutes(30));
+        fixtures.book(itemId, bookerId, day.plusHours(20), day.plusHours(21));
+
+        mvc.perform(get("/items/{id}/availability", itemId)
+                        .param("from", day.toString())
+                        .param("to", day.plusDays(1).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itemId").value(itemId))
+                .andExpect(jsonPath("$.free", hasSize(2)))
+                .andExpect(jsonPath("$.free[0].start").value(iso(day)))
+                .andExpect(jsonPath("$.free[0].end").value(iso(day.plusHours(10))))
+                .andExpect(jsonPath("$.free[1].start").value(iso(day.plusHours(13))))
+                .andExpect(jsonPath("$.free[1].end").value(iso(day.plusDays(1))));
+
+        fixtures.approved(itemId, bookerId, ownerId, day.plusHours(15), day.plusHours(16));
+
+        mvc.perform(get("/items/{id}/availability", itemId)
+                        .param("from", day.plusHours(11).toString())
+                        .param("to", day.plusHours(18).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.free", hasSize(2)))
+                .andExpect(jsonPath("$.free[0].start").value(iso(day.plusHours(13))))
+                .andExpect(jsonPath("$.free[0].end").value(iso(day.plusHours(15))))
+                .andExpect(jsonPath("$.free[1].start").value(iso(day.plusHours(16))))
+                .andExpect(jsonPath("$.free[1].end").value(iso(day.plusHours(18))));
+    }
+
+    @Test
+    void answersSeveralItemsAndRejectsRangesBeyondTheHorizon() throws Exception {
+        Long ownerId = fixtures.user();
+        Long bookerId = fixtures.user();
+        Long booked = fixtures.item(ownerId);
+        Long unavailable = fixtures.item(ownerId);
+        ItemUpdateDto update = new ItemUpdateDto();
+        update.setAvailable(false);
+        itemService.update(unavailable, update, ownerId);
+        LocalDateTime day = LocalDate.now().plusDays(2).atStartOfDay();
+        fixtures.approved(booked, bookerId, ownerId, day, day.plusDays(1));
+
+        mvc.perform(get("/items/availability")
+                        .param("ids", booked + "," + unavailable + ",-1")
+                        .param("from", day.toString())
+                        .param("to", day.plusDays(2).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].free", hasSize(1)))
+                .andExpect(jsonPath("$[0].free[0].start").value(iso(day.plusDays(1))))
+                .andExpect(jsonPath("$[1].available").value(false))
+                .andExpect(jsonPath("$[1].free", hasSize(0)));
+
+        mvc.perform(get("/items/{id}/availability", booked)
+                        .param("to", LocalDateTime.now().plusYears(2).toString()))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/items/{id}/availability", -1L))
+                .andExpect(status().isNotFound());
+    }
+
+    private static String iso(LocalDateTime time) {
+        return time.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+    }
+}
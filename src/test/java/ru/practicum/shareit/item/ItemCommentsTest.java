@@ -0,0 +1,140 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.dto.CommentRequestDto;
+import ru.practicum.shareit.item.dto.CommentResponseDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.util.Constants.NEXT_CURSOR_HEADER;
+import static ru.practicum.shareit.util.Constants.SHARER_ID_HEADER;
+
+@SpringBootTest(properties = "shareit.comments.latest=5")
+@AutoConfigureMockMvc
+class ItemCommentsTest {
+
+    private static final int COMMENTS = 12;
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Test
+    void detailEmbedsLatestCommentsAndTheRestArePaged() throws Exception {
+        User owner = user();
+        User author = user();
+        ItemDto itemDto = new ItemDto();
+        itemDto.setName("Drill");
+        itemDto.setDescription("Cordless drill");
+        itemDto.setAvailable(true);
+        Long itemId = itemService.create(itemDto, owner.getId()).getId();
+        Item item = itemRepository.findById(itemId).orElseThrow();
+
+        // Pairs of comments share a timestamp, so paging relies on the id tie-break.
+        LocalDateTime created = LocalDateTime.now().minusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        for (int i = 0; i < COMMENTS; i++) {
+            Comment comment = new Comment();
+            comment.setItem(item);
+            comment.setAuthor(author);
+            comment.setText("Comment " + i);
+            comment.setCreated(created.plusMinutes(i / 2));
+            commentRepository.save(comment);
+        }
+
+        mvc.perform(get("/items/{itemId}", itemId).header(SHARER_ID_HEADER, owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.commentCount").value(COMMENTS))
+                .andExpect(jsonPath("$.comments.length()").value(5))
+                .andExpect(jsonPath("$.comments[0].text").value("Comment 11"))
+                .andExpect(jsonPath("$.comments[4].text").value("Comment 7"));
+
+        List<String> texts = new ArrayList<>();
+        String cursor = null;
+        do {
+            MvcResult page = mvc.perform(get("/items/{itemId}/comments", itemId)
+                            .param("size", "5")
+                            .param("cursor", cursor))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            objectMapper.readValue(page.getResponse().getContentAsString(),
+                            new TypeReference<List<CommentResponseDto>>() { })
+                    .forEach(comment -> texts.add(comment.getText()));
+            cursor = page.getResponse().getHeader(NEXT_CURSOR_HEADER);
+        } while (cursor != null);
+        List<String> expected = new ArrayList<>();
+        for (int i = COMMENTS - 1; i >= 0; i--) {
+            expected.add("Comment " + i);
+        }
+        assertEquals(expected, texts);
+
+        Booking booking = new Booking();
+        booking.setItem(item);
+        booking.setBooker(author);
+        booking.setStart(LocalDateTime.now().minusDays(3));
+        booking.setEnd(LocalDateTime.now().minusDays(2));
+        booking.setStatus(Status.APPROVED);
+        bookingRepository.save(booking);
+        CommentRequestDto request = new CommentRequestDto();
+        request.setText("Newest");
+        itemService.createComment(itemId, request, author.getId());
+
+        mvc.perform(get("/items/{itemId}", itemId).header(SHARER_ID_HEADER, author.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.commentCount").value(COMMENTS + 1))
+                .andExpect(jsonPath("$.comments.length()").value(5))
+                .andExpect(jsonPath("$.comments[0].text").value("Newest"))
+                .andExpect(jsonPath("$.comments[1].text").value("Comment 11"));
+        mvc.perform(get("/items/{itemId}/comments", itemId).param("size", "1"))
+                .andExpect(jsonPath("$[0].text").value("Newest"));
+    }
+
+    @Test
+    void commentsOfUnknownItemAreNotFound() throws Exception {
+        mvc.perform(get("/items/{itemId}/comments", Long.MAX_VALUE))
+                .andExpect(status().isNotFound());
+    }
+
+    private User user() {
+        User user = new User();
+        user.setName("user");
+        user.setEmail(UUID.randomUUID() + "@mail.ru");
+        return userRepository.save(user);
+    }
+}
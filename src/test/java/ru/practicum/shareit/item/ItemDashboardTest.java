@@ -0,0 +1,134 @@
+package ru.practicum.shareit.item;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import ru.practicum.shareit.item.dashboard.ItemDashboardUpdater;
+import ru.practicum.shareit.item.dto.CommentRequestDto;
+import ru.practicum.shareit.item.dto.ItemUpdateDto;
+import ru.practicum.shareit.item.dto.ItemWithBookingsDto;
+import ru.practicum.shareit.item.model.ItemDashboard;
+import ru.practicum.shareit.item.repository.ItemDashboardRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.util.QueryCounter;
+import ru.practicum.shareit.util.TestFixtures;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest
+@Import(TestFixtures.class)
+class ItemDashboardTest {
+
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private ItemDashboardRepository dashboardRepository;
+    @Autowired
+    private ItemDashboardUpdater dashboardUpdater;
+    @Autowired
+    private MutableClock clock;
+
+    @Test
+    void followsApprovalsCommentsUpdatesAndTheClock() throws Exception {
+        Long ownerId = fixtures.user();
+        Long bookerId = fixtures.user();
+        Long itemId = fixtures.item(ownerId);
+        LocalDateTime now = LocalDateTime.now(clock).truncatedTo(ChronoUnit.HOURS);
+        Long soon = fixtures.approved(itemId, bookerId, ownerId, now.plusHours(1), now.plusHours(2));
+        Long later = fixtures.approved(itemId, bookerId, ownerId, now.plusDays(1), now.plusDays(2));
+
+        ItemWithBookingsDto before = itemService.findAllByOwner(ownerId).get(0);
+        assertNull(before.getLastBooking());
+        assertEquals(soon, before.getNextBooking().getId());
+
+        clock.advance(Duration.ofHours(3));
+        ItemWithBookingsDto stale = itemService.findAllByOwner(ownerId).get(0);
+        assertEquals(soon, stale.getLastBooking().getId());
+        assertEquals(later, stale.getNextBooking().getId());
+
+        dashboardUpdater.rollForward();
+        ItemDashboard row = dashboardRepository.findById(itemId).orElseThrow();
+        assertEquals(soon, row.getLastBookingId());
+        assertEquals(later, row.getNextBookingId());
+
+        CommentRequestDto comment = new CommentRequestDto();
+        comment.setText("Works well");
+        itemService.createComment(itemId, comment, bookerId);
+        ItemUpdateDto update = new ItemUpdateDto();
+        update.setName("Cordless drill");
+        itemService.update(itemId, update, ownerId);
+
+        List<ItemWithBookingsDto> dashboard = new ArrayList<>();
+        long statements = new QueryCounter(entityManagerFactory)
+                .count(() -> dashboard.addAll(itemService.findAllByOwner(ownerId)));
+        assertEquals(1, statements);
+        assertEquals("Cordless drill", dashboard.get(0).getName());
+        assertEquals("Works well", dashboard.get(0).getComments().get(0).getText());
+        assertEquals(1, dashboardRepository.findById(itemId).orElseThrow().getCommentCount());
+    }
+
+    @TestConfiguration
+    static class MutableClockConfig {
+        @Bean
+        @Primary
+        MutableClock mutableClock() {
+            return new MutableClock();
+        }
+    }
+
+    /**
+     * The system clock, moved forward on demand. Copies in other zones move with it.
+     */
+    static class MutableClock extends Clock {
+        private final ZoneId zone;
+        private final AtomicReference<Duration> offset;
+
+        MutableClock() {
+            this(ZoneId.systemDefault(), new AtomicReference<>(Duration.ZERO));
+        }
+
+        private MutableClock(ZoneId zone, AtomicReference<Duration> offset) {
+            this.zone = zone;
+            this.offset = offset;
+        }
+
+        void advance(Duration duration) {
+            offset.accumulateAndGet(duration, Duration::plus);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return zone;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return new MutableClock(zone, offset);
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.now().plus(offset.get());
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.util.TestFixtures;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.util.Constants.SHARER_ID_HEADER;
+
+@SpringBootTest
+@Import(TestFixtures.class)
+@AutoConfigureMockMvc
+class ItemImportTest {
+
+    @Autowired
+    private TestFixtures fixtures;
+    private static final int ROWS = 1200;
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Test
+    void importsNdjsonAcrossSeveralChunks() throws Exception {
+        Long ownerId = fixtures.user();
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < ROWS; i++) {
+            body.append("{\"name\":\"Drill ").append(i)
+                    .append("\",\"description\":\"Cordless drill\",\"available\":true}\n");
+        }
+
+        mvc.perform(post("/items/bulk")
+                        .header(SHARER_ID_HEADER, ownerId)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(ROWS))
+                .andExpect(jsonPath("$.failed").value(0));
+
+        assertEquals(ROWS, itemRepository.findAllByOwnerId(ownerId).size());
+    }
+
+    @Test
+    void reportsInvalidRowsAndKeepsTheRest() throws Exception {
+        Long ownerId = fixtures.user();
+        String body = "[" + String.join(",",
+                item("Ladder", "true", null),
+                item(" ", "true", null),
+                item("Saw", "true", -1L),
+                item("Vise", "\"sometimes\"", null),
+                item("Clamp", "false", null)) + "]";
+
+        mvc.perform(post("/items/bulk")
+                        .header(SHARER_ID_HEADER, ownerId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.failed").value(3))
+                .andExpect(jsonPath("$.errors[0].index").value(1))
+                .andExpect(jsonPath("$.errors[1].index").value(2))
+                .andExpect(jsonPath("$.errors[1].error").value("Request not found"))
+                .andExpect(jsonPath("$.errors[2].index").value(3));
+    }
+
+    @Test
+    void keepsRowsBeforeMalformedJson() throws Exception {
+        Long ownerId = fixtures.user();
+        String body = "{\"name\":\"Ladder\",\"description\":\"Folding ladder\",\"available\":true}\n{\"name\":";
+
+        mvc.perform(post("/items/bulk")
+                        .header(SHARER_ID_HEADER, ownerId)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.errors[0].index").value(1));
+    }
+
+    @Test
+    void reportsTheFirstErrorsAndCountsTheRest() throws Exception {
+        Long ownerId = fixtures.user();
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < ROWS; i++) {
+            // Every tenth row names a missing request and only fails when its chunk is written.
+            body.append(item(i % 10 == 0 ? "Saw" : " ", "true", i % 10 == 0 ? -1L : null)).append('\n');
+        }
+
+        mvc.perform(post("/items/bulk")
+                        .header(SHARER_ID_HEADER, ownerId)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(0))
+                .andExpect(jsonPath("$.failed").value(ROWS))
+                .andExpect(jsonPath("$.errors.length()").value(ItemImportResultDto.MAX_ERRORS))
+                .andExpect(jsonPath("$.errors[0].index").value(0))
+                .andExpect(jsonPath("$.errors[0].error").value("Request not found"))
+                .andExpect(jsonPath("$.errors[99].index").value(99))
+                .andExpect(jsonPath("$.omittedErrors").value(ROWS - ItemImportResultDto.MAX_ERRORS));
+    }
+
+    private String item(String name, String available, Long requestId) {
+        return "{\"name\":\"" + name + "\",\"description\":\"Tool\",\"available\":" + available
+                + (requestId == null ? "" : ",\"requestId\":" + requestId) + "}";
+    }
+}
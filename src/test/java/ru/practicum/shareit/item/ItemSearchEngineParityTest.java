@@ -0,0 +1,85 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.timeline.BookingTimelineIndex;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemUpdateDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.InMemoryItemSearchEngine;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.util.TestFixtures;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The trigram index must return exactly what the database query returns.
+ */
+@SpringBootTest
+@Import(TestFixtures.class)
+class ItemSearchEngineParityTest {
+
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private ItemSearchEngine databaseEngine;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private BookingTimelineIndex bookingTimelines;
+
+    @Test
+    void matchesTheDatabaseQuery() {
+        String tag = UUID.randomUUID().toString().substring(0, 8);
+        Long ownerId = fixtures.user();
+        Long shouting = fixtures.item(ownerId, tag.toUpperCase(Locale.ROOT) + " DRILL", "Cordless");
+        Long discounted = fixtures.item(ownerId, tag + " saw", "50% off");
+        Long underscored = fixtures.item(ownerId, tag + " a_b clamp", "Vise");
+        Long lookalike = fixtures.item(ownerId, tag + " axb clamp", "Vise");
+        Long unavailable = fixtures.item(ownerId, tag + " drill", "Cordless");
+        ItemUpdateDto update = new ItemUpdateDto();
+        update.setAvailable(false);
+        itemService.update(unavailable, update, ownerId);
+        Set<Long> ours = Set.of(shouting, discounted, underscored, lookalike, unavailable);
+
+        InMemoryItemSearchEngine memoryEngine =
+                new InMemoryItemSearchEngine(itemRepository, bookingRepository, bookingTimelines);
+        memoryEngine.load();
+
+        // Case folding, on both sides.
+        assertSameResults(memoryEngine, tag, ours, List.of(shouting, discounted, underscored, lookalike));
+        assertSameResults(memoryEngine, tag + " drill", ours, List.of(shouting));
+        assertSameResults(memoryEngine, tag.toUpperCase(Locale.ROOT) + " Drill", ours, List.of(shouting));
+        // Wildcards in the query keep their LIKE meaning.
+        assertSameResults(memoryEngine, tag + " a_b", ours, List.of(underscored, lookalike));
+        assertSameResults(memoryEngine, tag + "%clamp", ours, List.of(underscored, lookalike));
+        assertSameResults(memoryEngine, "50% off", ours, List.of(discounted));
+        // Too short for a trigram: answered by a scan.
+        assertSameResults(memoryEngine, "dr", ours, List.of(shouting));
+        assertSameResults(memoryEngine, "%", ours, List.of(shouting, discounted, underscored, lookalike));
+        assertSameResults(memoryEngine, "_", ours, List.of(shouting, discounted, underscored, lookalike));
+    }
+
+    private void assertSameResults(ItemSearchEngine memoryEngine, String query, Set<Long> ours, List<Long> expected) {
+        List<Long> fromDatabase = ids(databaseEngine.search(query, null, 0, 10_000));
+        assertEquals(fromDatabase, ids(memoryEngine.search(query, null, 0, 10_000)), query);
+        assertEquals(expected, fromDatabase.stream().filter(ours::contains).toList(), query);
+    }
+
+    private static List<Long> ids(List<ItemDto> items) {
+        return items.stream().map(ItemDto::getId).toList();
+    }
+}
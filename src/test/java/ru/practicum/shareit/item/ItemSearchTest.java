@@ -0,0 +1,100 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.util.TestFixtures;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@Import(TestFixtures.class)
+@AutoConfigureMockMvc
+class ItemSearchTest {
+
+    private static final int ITEMS = 25;
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void pagesByOffsetAndByCursor() throws Exception {
+        String text = "saw-" + UUID.randomUUID();
+        List<Integer> ids = items(text);
+
+        mvc.perform(get("/items/search").param("text", text))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(20)))
+                .andExpect(jsonPath("$[0].id").value(ids.get(0)));
+        mvc.perform(get("/items/search").param("text", text).param("from", "2").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", contains(ids.get(2), ids.get(3))));
+        mvc.perform(get("/items/search").param("text", text).param("after", ids.get(21).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", contains(ids.get(22), ids.get(23), ids.get(24))));
+        mvc.perform(get("/items/search").param("text", text)
+                        .param("after", ids.get(19).toString()).param("from", "1").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", contains(ids.get(21), ids.get(22))));
+        mvc.perform(get("/items/search").param("text", text).param("size", "1001"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void streamsEveryMatchAsNdjson() throws Exception {
+        String text = "saw-" + UUID.randomUUID();
+        List<Integer> ids = items(text);
+
+        String[] all = stream(text, null);
+        assertEquals(ITEMS, all.length);
+        assertTrue(all[0].contains("\"id\":" + ids.get(0) + ","), all[0]);
+
+        String[] rest = stream(text, ids.get(9).longValue());
+        assertEquals(ITEMS - 10, rest.length);
+        assertTrue(rest[0].contains("\"id\":" + ids.get(10) + ","), rest[0]);
+    }
+
+    private List<Integer> items(String text) {
+        Long ownerId = fixtures.user();
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            ids.add(Math.toIntExact(fixtures.item(ownerId, text, "Hand saw")));
+        }
+        return ids;
+    }
+
+    private String[] stream(String text, Long after) throws Exception {
+        MvcResult started = mvc.perform(get("/items/search")
+                        .param("text", text)
+                        .param("after", after == null ? null : after.toString())
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8)
+                .split("\n");
+    }
+}
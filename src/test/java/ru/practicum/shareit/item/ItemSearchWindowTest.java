@@ -0,0 +1,111 @@
+package ru.practicum.shareit.item;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.timeline.BookingTimelineIndex;
+import ru.practicum.shareit.booking.timeline.TimeRange;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.InMemoryItemSearchEngine;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.util.TestFixtures;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@Import(TestFixtures.class)
+@AutoConfigureMockMvc
+class ItemSearchWindowTest {
+
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private ItemSearchEngine databaseEngine;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingTimelineIndex bookingTimelines;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void leavesOutItemsWithApprovedBookingsOverlappingTheWindow() {
+        String text = "drill-" + UUID.randomUUID();
+        Long ownerId = fixtures.user();
+        Long bookerId = fixtures.user();
+        LocalDateTime saturday = LocalDate.now().plusDays(10).atStartOfDay();
+        LocalDateTime monday = saturday.plusDays(2);
+        Long free = fixtures.item(ownerId, text, "Cordless");
+        Long bookedInside = fixtures.item(ownerId, text, "Cordless");
+        Long bookedAcrossStart = fixtures.item(ownerId, text, "Cordless");
+        Long waitingOnly = fixtures.item(ownerId, text, "Cordless");
+        Long bookedBefore = fixtures.item(ownerId, text, "Cordless");
+        fixtures.approved(bookedInside, bookerId, ownerId, saturday.plusHours(10), saturday.plusHours(12));
+        fixtures.approved(bookedAcrossStart, bookerId, ownerId, saturday.minusDays(1), saturday.plusMinutes(1));
+        fixtures.book(waitingOnly, bookerId, saturday.plusHours(1), saturday.plusHours(2));
+        fixtures.approved(bookedBefore, bookerId, ownerId, saturday.minusDays(2), saturday);
+
+        TimeRange weekend = new TimeRange(saturday, monday);
+        List<Long> expected = List.of(free, waitingOnly, bookedBefore);
+        InMemoryItemSearchEngine memoryEngine =
+                new InMemoryItemSearchEngine(itemRepository, bookingRepository, bookingTimelines);
+        memoryEngine.load();
+        BookingTimelineIndex coldTimelines = new BookingTimelineIndex(bookingRepository, transactionManager, "",
+                bookingTimelines.getHorizon(), 100_000, new SimpleMeterRegistry());
+        InMemoryItemSearchEngine coldEngine =
+                new InMemoryItemSearchEngine(itemRepository, bookingRepository, coldTimelines);
+        coldEngine.load();
+
+        assertEquals(expected, ids(databaseEngine.searchFree(text, weekend, null, 0, 20)));
+        assertEquals(expected, ids(memoryEngine.searchFree(text, weekend, null, 0, 20)));
+        assertEquals(List.of(waitingOnly), ids(databaseEngine.searchFree(text, weekend, free, 0, 1)));
+        assertEquals(List.of(waitingOnly), ids(memoryEngine.searchFree(text, weekend, free, 0, 1)));
+        assertEquals(List.of(bookedBefore), ids(memoryEngine.searchFree(text, weekend, null, 2, 20)));
+        assertEquals(expected, ids(coldEngine.searchFree(text, weekend, null, 0, 20)));
+        assertTrue(coldTimelines.getLoaded(List.of(free, bookedInside, bookedAcrossStart)).isEmpty());
+        assertTrue(bookingTimelines.getLoaded(List.of(free)).isEmpty());
+        assertEquals(5, itemService.search(text, null, null, 0, 20).size());
+    }
+
+    @Test
+    void rejectsIncompleteOrPastWindows() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        mvc.perform(get("/items/search").param("text", "drill").param("start", start.toString()))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/items/search").param("text", "drill")
+                        .param("start", start.toString()).param("end", start.minusHours(1).toString()))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/items/search").param("text", "drill")
+                        .param("start", start.minusDays(2).toString()).param("end", start.toString()))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/items/search").param("text", "drill")
+                        .param("start", start.toString()).param("end", start.plusDays(1).toString()))
+                .andExpect(status().isOk());
+    }
+
+    private static List<Long> ids(List<ItemDto> items) {
+        return items.stream().map(ItemDto::getId).toList();
+    }
+}
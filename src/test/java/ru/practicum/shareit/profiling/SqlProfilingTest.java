@@ -0,0 +1,69 @@
+package ru.practicum.shareit.profiling;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "shareit.sql.profile.debug-header=true",
+        "shareit.sql.slow-threshold=0ms",
+        "management.endpoints.web.exposure.include=sqlprofile"
+})
+@AutoConfigureMockMvc
+@ExtendWith(OutputCaptureExtension.class)
+class SqlProfilingTest {
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void profilesRequestsAndLogsSlowStatements(CapturedOutput output) throws Exception {
+        UserDto user = new UserDto();
+        user.setName("user");
+        user.setEmail(UUID.randomUUID() + "@mail.ru");
+        userService.create(user);
+
+        mvc.perform(get("/users"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(SqlProfileHeaderAdvice.HEADER,
+                        matchesPattern("statements=[1-9]\\d*; db-ms=\\d+\\.\\d\\d")));
+
+        mvc.perform(get("/actuator/sqlprofile"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].uri").value("/users"))
+                .andExpect(jsonPath("$[0].statements").value(greaterThan(0)))
+                .andExpect(jsonPath("$[0].slowest[0].sql").isNotEmpty());
+
+        assertTrue(output.getOut().contains("Slow SQL ("), "slow statements are logged");
+    }
+
+    @Test
+    void keepsNoStatementsWhenAskedForNone() {
+        SqlProfile profile = new SqlProfile("GET", "/users", 0, null);
+        profile.record("SELECT 1", 2_000_000);
+        profile.record("SELECT 2", 1_000_000);
+
+        assertTrue(profile.getSlowest().isEmpty());
+        assertEquals(3.0, profile.getDbMillis());
+    }
+}
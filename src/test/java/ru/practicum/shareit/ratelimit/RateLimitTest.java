@@ -0,0 +1,197 @@
+package ru.practicum.shareit.ratelimit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.util.Constants.SHARER_ID_HEADER;
+
+@SpringBootTest(properties = {
+        "shareit.rate-limit.enabled=true",
+        "shareit.rate-limit.defaults.rate=1",
+        "shareit.rate-limit.defaults.burst=1000",
+        "shareit.rate-limit.endpoints.search.paths=/items/search",
+        "shareit.rate-limit.endpoints.search.rate=0.1",
+        "shareit.rate-limit.endpoints.search.burst=3",
+        "shareit.rate-limit.endpoints.search.by-address=true",
+        "shareit.rate-limit.endpoints.users.paths=/users",
+        "shareit.rate-limit.endpoints.users.rate=0.1",
+        "shareit.rate-limit.endpoints.users.burst=3",
+        "shareit.load-shedding.max-pool-wait=100ms",
+        "shareit.load-shedding.sample-interval-ms=3600000"
+})
+@AutoConfigureMockMvc
+class RateLimitTest {
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private LoadShedder loadShedder;
+
+    @Test
+    void limitsSearchByAddressWhateverUserIdIsSent() throws Exception {
+        double rejected = rejected("rate-limit");
+        for (int i = 0; i < 3; i++) {
+            mvc.perform(get("/items/search").param("text", "drill").header(SHARER_ID_HEADER, i)
+                            .with(address("10.0.0.1")))
+                    .andExpect(status().isOk());
+        }
+        mvc.perform(get("/items/search").param("text", "drill").header(SHARER_ID_HEADER, 3)
+                        .with(address("10.0.0.1")))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "10"));
+
+        mvc.perform(get("/items/search").param("text", "drill").with(address("10.0.0.2")))
+                .andExpect(status().isOk());
+        mvc.perform(get("/items").header(SHARER_ID_HEADER, 1).with(address("10.0.0.1")))
+                .andExpect(status().isOk());
+        mvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+        assertEquals(rejected + 1, rejected("rate-limit"));
+    }
+
+    @Test
+    void rotatingUserIdsAreLimitedLikeTheirAddress() throws Exception {
+        double buckets = meterRegistry.get("shareit.ratelimit.buckets").gauge().value();
+        for (int user = 1; user <= 3; user++) {
+            mvc.perform(get("/users").header(SHARER_ID_HEADER, user).with(address("10.0.0.3")))
+                    .andExpect(status().isOk());
+        }
+        for (int user = 4; user <= 20; user++) {
+            mvc.perform(get("/users").header(SHARER_ID_HEADER, user).with(address("10.0.0.3")))
+                    .andExpect(status().isTooManyRequests());
+        }
+        // Known ids keep their own buckets.
+        mvc.perform(get("/users").header(SHARER_ID_HEADER, 1).with(address("10.0.0.3")))
+                .andExpect(status().isOk());
+        // Three ids and the address.
+        assertTrue(meterRegistry.get("shareit.ratelimit.buckets").gauge().value() <= buckets + 4);
+    }
+
+    @Test
+    void newIdsFallBackToTheirAddressOnceTheGroupIsFull() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setMaxBuckets(2);
+        properties.getDefaults().setRate(1);
+        properties.getDefaults().setBurst(3);
+        RateLimiter.Group group = new RateLimiter(properties, new SimpleMeterRegistry()).groupFor("/items");
+        long now = System.nanoTime();
+
+        // The address and the first id fill the group.
+        assertEquals(0, group.tryAcquire(1L, "10.0.0.1", now));
+        assertEquals(0, group.tryAcquire(2L, "10.0.0.1", now));
+        assertEquals(0, group.tryAcquire(3L, "10.0.0.1", now));
+        assertTrue(group.tryAcquire(4L, "10.0.0.1", now) > 0);
+        // The first id still has its own bucket.
+        assertEquals(0, group.tryAcquire(1L, "10.0.0.1", now));
+        // A new address gets a bucket, and new ids from it are limited by that.
+        assertEquals(0, group.tryAcquire(5L, "10.0.0.2", now));
+        assertEquals(0, group.tryAcquire("10.0.0.2", "10.0.0.2", now));
+        assertEquals(0, group.tryAcquire(6L, "10.0.0.2", now));
+        assertTrue(group.tryAcquire(7L, "10.0.0.2", now) > 0);
+    }
+
+    @Test
+    void shedsRequestsBeyondTheInFlightLimit() {
+        LoadShedder shedder = new LoadShedder(new SimpleMeterRegistry(), 2, Duration.ZERO);
+
+        assertTrue(shedder.tryEnter());
+        assertTrue(shedder.tryEnter());
+        assertFalse(shedder.tryEnter());
+        shedder.exit();
+        assertTrue(shedder.tryEnter());
+    }
+
+    @Test
+    void shedsAGrowingShareOfConnectionsWhileTheyWaitTooLong() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Timer acquire = registry.timer("hikaricp.connections.acquire", "pool", "HikariPool-1");
+        LoadShedder shedder = new LoadShedder(registry, 0, Duration.ofMillis(100));
+        shedder.sample();
+
+        acquire.record(Duration.ofMillis(100));
+        acquire.record(Duration.ofMillis(300));
+        shedder.sample();
+        assertEquals(0.5, shedder.getShedFraction(), 1e-9);
+        acquire.record(Duration.ofMillis(200));
+        shedder.sample();
+        assertEquals(0.75, shedder.getShedFraction(), 1e-9);
+
+        int shed = 0;
+        for (int i = 0; i < 400; i++) {
+            assertTrue(shedder.tryEnter());
+            try {
+                shedder.beforeConnection();
+            } catch (SQLTransientConnectionException e) {
+                shed++;
+            }
+            // Only the first connection of a request may be refused.
+            assertDoesNotThrow(shedder::beforeConnection);
+            shedder.exit();
+        }
+        assertTrue(shed > 240 && shed < 360, "shed " + shed);
+        assertDoesNotThrow(shedder::beforeConnection, "outside a request");
+
+        acquire.record(Duration.ofMillis(10));
+        shedder.sample();
+        assertEquals(0.375, shedder.getShedFraction(), 1e-9);
+        for (int i = 0; i < 6; i++) {
+            shedder.sample();
+        }
+        assertEquals(0, shedder.getShedFraction());
+    }
+
+    @Test
+    void shedsOnlyRequestsThatAskForAConnection() throws Exception {
+        Timer acquire = meterRegistry.timer("hikaricp.connections.acquire", "pool", "saturated");
+        loadShedder.sample();
+        acquire.record(Duration.ofSeconds(10));
+        loadShedder.sample();
+        try {
+            int unavailable = 0;
+            for (int i = 0; i < 50; i++) {
+                int status = mvc.perform(get("/items").header(SHARER_ID_HEADER, 1).with(address("10.0.0.4")))
+                        .andReturn().getResponse().getStatus();
+                assertTrue(status == 200 || status == 503, "status " + status);
+                unavailable += status == 503 ? 1 : 0;
+                // Turned away before any connection is needed.
+                mvc.perform(get("/items/1/comments").param("size", "0").with(address("10.0.0.4")))
+                        .andExpect(status().isBadRequest());
+            }
+            assertTrue(unavailable > 30, "unavailable " + unavailable);
+        } finally {
+            while (loadShedder.getShedFraction() > 0) {
+                loadShedder.sample();
+            }
+        }
+    }
+
+    private double rejected(String reason) {
+        return meterRegistry.get("shareit.http.rejected").tag("reason", reason).counter().count();
+    }
+
+    private static RequestPostProcessor address(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+}
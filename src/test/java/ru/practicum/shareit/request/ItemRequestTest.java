@@ -0,0 +1,127 @@
+package ru.practicum.shareit.request;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.RequestSuggestionDto;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.util.TestFixtures;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.util.Constants.NEXT_CURSOR_HEADER;
+import static ru.practicum.shareit.util.Constants.SHARER_ID_HEADER;
+
+@SpringBootTest
+@Import(TestFixtures.class)
+@AutoConfigureMockMvc
+class ItemRequestTest {
+
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private ItemRequestService requestService;
+
+    @Test
+    void feedPagesOtherUsersRequestsNewestFirst() throws Exception {
+        Long requestorId = fixtures.user();
+        Long readerId = fixtures.user();
+        List<Long> others = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            others.add(request(requestorId, "Ladder " + i));
+        }
+        Long own = request(readerId, "Wheelbarrow");
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            MvcResult result = mvc.perform(get("/requests/all")
+                            .header(SHARER_ID_HEADER, readerId)
+                            .param("size", "2")
+                            .param("cursor", cursor == null ? "" : cursor))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            List<ItemRequestDto> page = objectMapper.readValue(result.getResponse().getContentAsString(),
+                    new TypeReference<>() {
+                    });
+            assertTrue(page.size() <= 2);
+            page.forEach(request -> seen.add(request.getId()));
+            cursor = result.getResponse().getHeader(NEXT_CURSOR_HEADER);
+        } while (cursor != null);
+
+        assertFalse(seen.contains(own));
+        assertEquals(others.reversed(), seen.stream().filter(others::contains).toList());
+        mvc.perform(get("/requests/all").header(SHARER_ID_HEADER, readerId).param("cursor", "yesterday"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void suggestsNewItemsMatchingOpenRequests() {
+        String word = "drill" + UUID.randomUUID().toString().replace("-", "");
+        Long requestorId = fixtures.user();
+        Long ownerId = fixtures.user();
+        Long requestId = request(requestorId, "Need a cordless " + word + " for the weekend");
+        Long ownRequestId = request(ownerId, "Looking for a cordless " + word);
+
+        Long matching = fixtures.item(ownerId, "Cordless " + word, "With two batteries", null);
+        fixtures.item(ownerId, "Garden hose", "Twenty metres", null);
+
+        List<RequestSuggestionDto> suggestions = requestService.getSuggestions(requestorId, 20);
+        assertEquals(1, suggestions.size());
+        assertEquals(requestId, suggestions.get(0).getRequestId());
+        assertEquals(matching, suggestions.get(0).getItemId());
+        assertEquals("Cordless " + word, suggestions.get(0).getItemName());
+        assertTrue(requestService.getSuggestions(ownerId, 20).isEmpty(), "own request " + ownRequestId);
+
+        fixtures.item(fixtures.user(), "Another cordless " + word, null, requestId);
+        fixtures.item(fixtures.user(), "Yet another cordless " + word, null, null);
+        assertTrue(requestService.getSuggestions(requestorId, 20).isEmpty(), "answered request " + requestId);
+    }
+
+    @Test
+    void embedsAnsweringItems() throws Exception {
+        Long requestorId = fixtures.user();
+        Long ownerId = fixtures.user();
+        Long answered = request(requestorId, "Tent for four");
+        Long open = request(requestorId, "Camping stove");
+        Long first = fixtures.item(ownerId, "Tent", "Four-person", answered);
+        Long second = fixtures.item(fixtures.user(), "Big tent", "Six-person", answered);
+
+        MvcResult result = mvc.perform(get("/requests/{requestId}", answered).header(SHARER_ID_HEADER, requestorId))
+                .andExpect(status().isOk())
+                .andReturn();
+        ItemRequestDto request = objectMapper.readValue(result.getResponse().getContentAsString(),
+                ItemRequestDto.class);
+        assertEquals(List.of(first, second), request.getItems().stream().map(ItemDto::getId).toList());
+
+        List<ItemRequestDto> own = requestService.getAllRequestsByUser(requestorId);
+        assertEquals(List.of(open, answered), own.stream().map(ItemRequestDto::getId).toList());
+        assertEquals(List.of(0, 2), own.stream().map(dto -> dto.getItems().size()).toList());
+    }
+
+    private Long request(Long requestorId, String description) {
+        ItemRequestDto request = new ItemRequestDto();
+        request.setDescription(description);
+        request.setUserId(requestorId);
+        return requestService.create(request, requestorId).getId();
+    }
+}
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.request.matching;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestMatchIndexTest {
+
+    @Test
+    void scoresByTheShareOfTheRequestsWordsFoundInTheText() {
+        RequestMatchIndex index = new RequestMatchIndex(null, null, new SimpleMeterRegistry(), true, 2, 0.5);
+        index.add(new OpenRequest(1L, 10L, "Need a cordless drill"));
+        assertEquals(List.of(1L), ids(index.match("Bosch cordless drill", 20L, 5)));
+
+        index.add(new OpenRequest(2L, 11L, "Looking for a drill and a ladder"));
+        index.add(new OpenRequest(3L, 12L, "Ladder, three metres"));
+        index.add(new OpenRequest(4L, 20L, "Cordless drill please"));
+        // "drill" is in three requests, more than max-postings, so only "cordless" is looked up.
+        assertEquals(List.of(1L), ids(index.match("Cordless drill", 20L, 5)));
+        assertEquals(List.of(1L, 4L), ids(index.match("Cordless drill", 30L, 5)).stream().sorted().toList());
+        // Request 2 shares "ladder", the rarer of its two words.
+        assertEquals(List.of(3L, 2L), ids(index.match("Aluminium ladder, three metres", 20L, 5)));
+        assertTrue(index.match("Garden hose", 20L, 5).isEmpty());
+
+        index.remove(1L);
+        assertTrue(index.match("Cordless", 20L, 5).isEmpty());
+        assertEquals(3, index.size());
+    }
+
+    private static List<Long> ids(List<RequestMatch> matches) {
+        return matches.stream().map(RequestMatch::getRequestId).toList();
+    }
+}
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.util;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+/**
+ * Counts JDBC statements prepared while an action runs. Requires
+ * {@code hibernate.generate_statistics}, which the test profile enables.
+ */
+public class QueryCounter {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final Statistics statistics;
+
+    public QueryCounter(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    public long count(Action action) throws Exception {
+        long before = statistics.getPrepareStatementCount();
+        action.run();
+        return statistics.getPrepareStatementCount() - before;
+    }
+
+    /**
+     * Counts with an empty second-level cache, so lazy loads the cache would hide still show up.
+     */
+    public long countCold(Action action) throws Exception {
+        entityManagerFactory.getCache().evictAll();
+        return count(action);
+    }
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,87 @@
+package ru.practicum.shareit.util;
+
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Creates users, items and bookings through the services. Tests {@code @Import} it, or build
+ * one from the services of a context they started themselves.
+ */
+public class TestFixtures {
+
+    private final UserService userService;
+    private final ItemService itemService;
+    private final BookingService bookingService;
+
+    public TestFixtures(UserService userService, ItemService itemService, BookingService bookingService) {
+        this.userService = userService;
+        this.itemService = itemService;
+        this.bookingService = bookingService;
+    }
+
+    public Long user() {
+        UserDto user = new UserDto();
+        user.setName("user");
+        user.setEmail(UUID.randomUUID() + "@mail.ru");
+        return userService.create(user).getId();
+    }
+
+    public Long item(Long ownerId) {
+        return item(ownerId, "Drill", "Cordless drill");
+    }
+
+    public Long item(Long ownerId, String name, String description) {
+        return item(ownerId, name, description, null);
+    }
+
+    public Long item(Long ownerId, String name, String description, Long requestId) {
+        ItemDto item = new ItemDto();
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(true);
+        item.setRequestId(requestId);
+        return itemService.create(item, ownerId).getId();
+    }
+
+    /**
+     * Books the hour from {@code start}.
+     */
+    public Long book(Long itemId, Long bookerId, LocalDateTime start) {
+        return book(itemId, bookerId, start, start.plusHours(1));
+    }
+
+    public Long book(Long itemId, Long bookerId, LocalDateTime start, LocalDateTime end) {
+        return bookingService.create(booking(itemId, start, end), bookerId).getId();
+    }
+
+    /**
+     * Books and approves as the item's owner.
+     */
+    public Long approved(Long itemId, Long bookerId, Long ownerId, LocalDateTime start, LocalDateTime end) {
+        Long bookingId = book(itemId, bookerId, start, end);
+        bookingService.approveBooking(bookingId, ownerId, true);
+        return bookingId;
+    }
+
+    /**
+     * A request for the hour from {@code start}.
+     */
+    public static BookingRequestDto booking(Long itemId, LocalDateTime start) {
+        return booking(itemId, start, start.plusHours(1));
+    }
+
+    public static BookingRequestDto booking(Long itemId, LocalDateTime start, LocalDateTime end) {
+        BookingRequestDto booking = new BookingRequestDto();
+        booking.setItemId(itemId);
+        booking.setStart(start);
+        booking.setEnd(end);
+        return booking;
+    }
+}